@@ -0,0 +1,62 @@
+#!/bin/sh
+# Compares time-to-first-request and resident memory of the default image and the fast-start image
+# (AOT + CDS + fast-start profile).
+#
+# Usage: scripts/measure-startup.sh [runs]
+#
+# Requires the databases of docker-compose.yml to be running and migrated, e.g.
+#   docker compose up -d --build
+# Time-to-first-request is measured from "docker run" until GET /orders/1 is answered (200 or 404), so it
+# includes JVM start, context refresh and the lazy initialization paid by the first request. RSS is read
+# from /proc after that request.
+set -eu
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+NETWORK=${NETWORK:-$(docker inspect orders-postgres --format '{{range $name, $_ := .NetworkSettings.Networks}}{{$name}}{{end}}')}
+
+cd "$(dirname "$0")/.."
+
+docker build -q -t orders-service:default . > /dev/null
+docker build -q -t orders-service:fast-start --target fast-start . > /dev/null
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+measure() {
+    image=$1
+    start=$(now_ms)
+    container=$(docker run -d --rm --network "$NETWORK" -p "$PORT:8080" \
+        -e SPRING_DATASOURCE_URL=jdbc:postgresql://postgres:5432/orders_db \
+        -e SPRING_DATASOURCE_USERNAME=postgres \
+        -e SPRING_DATASOURCE_PASSWORD=postgres \
+        -e NUMBER_GENERATE_SERVICE_URL=http://number-generate-service:80/numbers \
+        "$image")
+    until status=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/orders/1") \
+            && { [ "$status" = 200 ] || [ "$status" = 404 ]; }; do
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(docker exec "$container" awk '/VmRSS/ { print $2 }' /proc/1/status)
+    docker stop "$container" > /dev/null
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+printf '%-12s %10s %10s\n' image ttfr_ms rss_mib
+for image in orders-service:default orders-service:fast-start; do
+    results=""
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        results="$results$(measure "$image")
+"
+        i=$((i + 1))
+    done
+    ttfr=$(printf '%s' "$results" | awk '{ print $1 }' | median)
+    rss=$(printf '%s' "$results" | awk '{ print $2 / 1024 }' | median)
+    printf '%-12s %10s %10.0f\n' "${image#*:}" "$ttfr" "$rss"
+done
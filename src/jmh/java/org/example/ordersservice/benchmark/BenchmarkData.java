@@ -0,0 +1,105 @@
+package org.example.ordersservice.benchmark;
+
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.OrderDetails;
+import org.example.ordersservice.model.entity.PaymentType;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Builds deterministic orders for the benchmarks, so results of different runs stay comparable.
+ */
+final class BenchmarkData {
+    static final LocalDate ORDER_DATE = LocalDate.of(2024, 1, 15);
+
+    private BenchmarkData() {
+    }
+
+    static OrderRequestDto request(int itemCount) {
+        List<OrderDetailsDto> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderDetailsDto((long) i, "Product " + (i % 100), 1 + i % 10, unitPrice(i)));
+        }
+        return new OrderRequestDto(items, "John Doe", "123 Main St", PaymentType.CARD, DeliveryType.DOOR_DELIVERY);
+    }
+
+    static Order order(long id, int itemCount) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber(String.valueOf(id));
+        order.setOrderDate(ORDER_DATE);
+        order.setRecipient("John Doe");
+        order.setDeliveryAddress("123 Main St");
+        order.setPaymentType(PaymentType.CARD);
+        order.setDeliveryType(DeliveryType.DOOR_DELIVERY);
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            OrderDetails item = new OrderDetails();
+            item.setId(id * itemCount + i);
+            item.setArticleId((long) i);
+            item.setProductName("Product " + (i % 100));
+            item.setQuantity(1 + i % 10);
+            item.setUnitPrice(unitPrice(i));
+            order.addItem(item);
+            total = total.add(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+
+    static List<Order> orders(int count, int itemsPerOrder) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            orders.add(order(i, itemsPerOrder));
+        }
+        return orders;
+    }
+
+    /**
+     * Inserts orders of {@link #ORDER_DATE} and their lines with plain JDBC batches, much faster than through JPA,
+     * using identifiers far above those the application assigns. Every run uses a new identifier range, so it also
+     * works on a database that keeps the rows of earlier runs.
+     *
+     * @param productName The product name of a line, given the index of the order and of the line.
+     */
+    static void insertOrderLines(JdbcTemplate jdbcTemplate, int orderCount, int itemsPerOrder,
+                                 BiFunction<Integer, Integer, String> productName) {
+        int batchSize = 5000;
+        long firstId = 1_000_000_000L * (1 + System.currentTimeMillis() % 1_000);
+        Date orderDate = Date.valueOf(ORDER_DATE);
+        List<Object[]> orders = new ArrayList<>(batchSize);
+        List<Object[]> items = new ArrayList<>(batchSize * itemsPerOrder);
+        for (int i = 0; i < orderCount; i++) {
+            long orderId = firstId + i;
+            orders.add(new Object[]{orderId, "bulk-" + orderId, BigDecimal.TEN, orderDate, "John Doe", "123 Main St",
+                    PaymentType.CARD.name(), DeliveryType.DOOR_DELIVERY.name()});
+            for (int line = 0; line < itemsPerOrder; line++) {
+                items.add(new Object[]{orderId * itemsPerOrder + line, (long) line, productName.apply(i, line),
+                        1 + line % 10, unitPrice(line), orderId, orderDate});
+            }
+            if (orders.size() == batchSize || i == orderCount - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_number, total_amount, order_date, recipient, " +
+                        "delivery_address, payment_type, delivery_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", orders);
+                jdbcTemplate.batchUpdate("INSERT INTO order_details (id, article_id, product_name, quantity, unit_price, " +
+                        "order_id, order_date) VALUES (?, ?, ?, ?, ?, ?, ?)", items);
+                orders.clear();
+                items.clear();
+            }
+        }
+    }
+
+    private static BigDecimal unitPrice(int i) {
+        return BigDecimal.valueOf(199 + (i * 37L) % 10_000, 2);
+    }
+}
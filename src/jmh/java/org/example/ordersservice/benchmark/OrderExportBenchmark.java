@@ -0,0 +1,99 @@
+package org.example.ordersservice.benchmark;
+
+import org.example.ordersservice.OrdersServiceApplication;
+import org.example.ordersservice.model.dto.ExportStatusDto;
+import org.example.ordersservice.service.OrderExportService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the export throughput by worker count. Every invocation exports one day of 200,000 orders with
+ * 1,000,000 items; the {@code rows} counter reports the rows written per second, orders and items together.
+ * Uses the in-memory H2 database of the test profile and a temporary export directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class OrderExportBenchmark {
+    private static final int ORDERS = 200_000;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final Duration TIMEOUT = Duration.ofMinutes(10);
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private OrderExportService orderExportService;
+
+    /**
+     * Rows written by the exports of the iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ExportedRows {
+        public long rows;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("order-export-benchmark");
+        context = new SpringApplicationBuilder(OrdersServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "orders.export.directory=" + directory,
+                        "orders.export.workers=" + workers,
+                        // 200,000 orders with consecutive identifiers make 16 chunks
+                        "orders.export.chunk-size=12500",
+                        "orders.product-index.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        orderExportService = context.getBean(OrderExportService.class);
+        BenchmarkData.insertOrderLines(context.getBean(JdbcTemplate.class), ORDERS, ITEMS_PER_ORDER,
+                (order, line) -> "Product " + (order + line) % 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public ExportStatusDto export(ExportedRows exported) {
+        String exportId = orderExportService.startExport(BenchmarkData.ORDER_DATE, BenchmarkData.ORDER_DATE).getId();
+        ExportStatusDto status = orderExportService.awaitExport(exportId, TIMEOUT);
+        if (status.getState() != ExportStatusDto.State.COMPLETED) {
+            throw new IllegalStateException("Export " + exportId + " ended " + status.getState());
+        }
+        exported.rows += status.getOrdersWritten() + status.getItemsWritten();
+        return status;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.ordersservice.benchmark;
+
+import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MapStruct mapping between order entities and DTOs for orders of growing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMapperBenchmark {
+    private final OrderMapper orderMapper = OrderMapper.INSTANCE;
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private OrderRequestDto request;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkData.request(items);
+        order = BenchmarkData.order(1, items);
+    }
+
+    @Benchmark
+    public Order requestToEntity() {
+        return orderMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public OrderResponseDto entityToResponse() {
+        return orderMapper.toResponseDto(order);
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.ordersservice.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.ordersservice.OrdersServiceApplication;
+import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.service.OrderService;
+import org.example.ordersservice.support.NumberGenerateServiceStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the heap allocated for one 10k-order list response when the orders are loaded as managed entities and
+ * mapped by {@link OrderMapper} ({@code entities*}, the former read path, whose queries are inlined here) with the projection queries the service
+ * uses now ({@code projections*}). Run with the {@code gc} profiler of the {@code jmh} Maven profile and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per response. The product index and the order cache are switched
+ * off so both variants query the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderReadModelBenchmark {
+    private static final int SEEDED_ORDERS = 10_000;
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final BigDecimal MIN_AMOUNT = BigDecimal.ONE;
+    private static final String ABSENT_PRODUCT = "Unknown product";
+    private static final String ENTITIES_BY_DATE_AND_AMOUNT = "SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items " +
+            "WHERE o.orderDate = :date AND o.totalAmount >= :amount";
+    private static final String ENTITIES_WITHOUT_PRODUCT = "SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items " +
+            "WHERE o.orderDate BETWEEN :startDate AND :endDate AND NOT EXISTS (SELECT i FROM o.items i " +
+            "WHERE i.productName = :productName AND i.orderDate BETWEEN :startDate AND :endDate)";
+
+    private NumberGenerateServiceStub numberService;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate readOnlyTransaction;
+    private LocalDate orderDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        numberService = NumberGenerateServiceStub.start();
+        context = new SpringApplicationBuilder(OrdersServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "number-generate-service.url=" + numberService.url(),
+                        "number-generate-service.pool.enabled=true",
+                        "orders.product-index.enabled=false",
+                        "spring.cache.type=none",
+                        "logging.level.root=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        for (int seeded = 0; seeded < SEEDED_ORDERS; seeded += SEED_BATCH_SIZE) {
+            List<OrderRequestDto> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = 0; i < SEED_BATCH_SIZE; i++) {
+                batch.add(BenchmarkData.request(ITEMS_PER_ORDER));
+            }
+            orderDate = orderService.createOrders(batch).getCreated().get(0).getOrderDate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        numberService.close();
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> entitiesByDateAndAmount() {
+        return readOnlyTransaction.execute(status -> OrderMapper.INSTANCE.toResponseDtoList(entityManager()
+                .createQuery(ENTITIES_BY_DATE_AND_AMOUNT, Order.class)
+                .setParameter("date", orderDate)
+                .setParameter("amount", MIN_AMOUNT)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> projectionsByDateAndAmount() {
+        return orderService.getOrdersByDateAndAmount(orderDate, MIN_AMOUNT);
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> entitiesWithoutProduct() {
+        return readOnlyTransaction.execute(status -> OrderMapper.INSTANCE.toResponseDtoList(entityManager()
+                .createQuery(ENTITIES_WITHOUT_PRODUCT, Order.class)
+                .setParameter("productName", ABSENT_PRODUCT)
+                .setParameter("startDate", orderDate)
+                .setParameter("endDate", orderDate)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> projectionsWithoutProduct() {
+        return orderService.getOrdersWithoutProductAndBetweenDates(ABSENT_PRODUCT, orderDate, orderDate);
+    }
+
+    private EntityManager entityManager() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.ordersservice.benchmark;
+
+import org.example.ordersservice.OrdersServiceApplication;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.service.OrderService;
+import org.example.ordersservice.support.NumberGenerateServiceStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full {@code OrderServiceImpl} paths, including mapping, JPA and the number pool, against the
+ * in-memory H2 database of the test profile and a local number-generate-service stub. The order cache is switched
+ * off so reads always reach the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderServiceBenchmark {
+    private static final int SEEDED_ORDERS = 2000;
+    private static final int ITEMS_PER_ORDER = 5;
+    // below the total of every seeded order, and not a product of any, so both list queries return all of them
+    private static final BigDecimal MIN_AMOUNT = BigDecimal.ONE;
+    private static final String ABSENT_PRODUCT = "Unknown product";
+
+    private NumberGenerateServiceStub numberService;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequestDto request;
+    private long[] orderIds;
+    private LocalDate orderDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        numberService = NumberGenerateServiceStub.start();
+        context = new SpringApplicationBuilder(OrdersServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "number-generate-service.url=" + numberService.url(),
+                        "number-generate-service.pool.enabled=true",
+                        "spring.cache.type=none",
+                        "logging.level.root=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+
+        request = BenchmarkData.request(ITEMS_PER_ORDER);
+        orderIds = new long[SEEDED_ORDERS];
+        for (int i = 0; i < SEEDED_ORDERS; i++) {
+            OrderResponseDto created = orderService.createOrder(BenchmarkData.request(ITEMS_PER_ORDER));
+            orderIds[i] = created.getId();
+            orderDate = created.getOrderDate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        numberService.close();
+    }
+
+    @Benchmark
+    public OrderResponseDto createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @Benchmark
+    public OrderResponseDto getOrderById() {
+        return orderService.getOrderById(orderIds[ThreadLocalRandom.current().nextInt(orderIds.length)]);
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> getOrdersByDateAndAmount() {
+        return orderService.getOrdersByDateAndAmount(orderDate, MIN_AMOUNT);
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> getOrdersWithoutProductAndBetweenDates() {
+        return orderService.getOrdersWithoutProductAndBetweenDates(ABSENT_PRODUCT, orderDate, orderDate);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.ordersservice.benchmark;
+
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.OrderDetails;
+import org.example.ordersservice.util.MoneyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the order total computed when an order is created: the sum of unit price times quantity over all items.
+ * The allocation per operation is reported as {@code gc.alloc.rate.norm} by the {@code gc} profiler; for
+ * {@link #longMinorUnits} it should stay at the size of the result regardless of the number of items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderTotalBenchmark {
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private List<OrderDetails> orderItems;
+
+    @Setup
+    public void setUp() {
+        Order order = BenchmarkData.order(1, items);
+        orderItems = order.getItems();
+    }
+
+    /**
+     * The expression {@code OrderServiceImpl#createOrder} used before {@link MoneyUtils}, kept as the baseline.
+     */
+    @Benchmark
+    public BigDecimal bigDecimalStream() {
+        return orderItems.stream()
+                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal longMinorUnits() {
+        return MoneyUtils.total(orderItems, OrderDetails::getUnitPrice, OrderDetails::getQuantity);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.ordersservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the wire formats offered by the list endpoints: serialization time of an order list, optionally gzipped
+ * as done by the server above the compression threshold, and the resulting payload size, reported as the
+ * {@code payloadBytes} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderWireFormatBenchmark {
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"1000"})
+    private int orders;
+
+    @Param({"5"})
+    private int itemsPerOrder;
+
+    private ObjectWriter writer;
+    private List<OrderResponseDto> response;
+
+    /**
+     * Size of the last payload written.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        JsonFactory factory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> CBORFactory.builder().enable(CBORGenerator.Feature.STRINGREF).build();
+            case "smile" -> SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, OrderResponseDto.class));
+        response = OrderMapper.INSTANCE.toResponseDtoList(BenchmarkData.orders(orders, itemsPerOrder));
+    }
+
+    @Benchmark
+    public byte[] serializeList(PayloadSize size) throws IOException {
+        byte[] payload = writer.writeValueAsBytes(response);
+        if (gzip) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(payload);
+            }
+            payload = compressed.toByteArray();
+        }
+        size.payloadBytes = payload.length;
+        return payload;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.ordersservice.benchmark;
+
+import org.example.ordersservice.OrdersServiceApplication;
+import org.example.ordersservice.model.dto.BatchOrderResponseDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.service.OrderService;
+import org.example.ordersservice.support.NumberGenerateServiceStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous development persistence settings ({@code dev}: SQL echo with formatting and driver
+ * defaults) with the {@code prod} profile on the write and read paths of {@code OrderServiceImpl}.
+ *
+ * <p>Statement caching and batch rewriting are PgJDBC features, so this benchmark needs a PostgreSQL database,
+ * given by the {@code benchmark.datasource.url}, {@code benchmark.datasource.username} and
+ * {@code benchmark.datasource.password} system properties. Orders are added to that database and not removed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int BATCH_SIZE = 50;
+    // above every order total: the table keeps growing, so the read measures the statement rather than the rows
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("1000000000");
+
+    @Param({"dev", "prod"})
+    public String settings;
+
+    private NumberGenerateServiceStub numberService;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequestDto request;
+    private List<OrderRequestDto> batch;
+    private LocalDate orderDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        numberService = NumberGenerateServiceStub.start();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(OrdersServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+                                "jdbc:postgresql://localhost:5432/orders_db"),
+                        "spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "postgres"),
+                        "number-generate-service.url=" + numberService.url(),
+                        "spring.cache.type=none",
+                        "orders.outbox.sink=memory",
+                        "orders.product-index.enabled=false",
+                        "orders.coalescing.enabled=false");
+        if (settings.equals("prod")) {
+            builder.profiles("prod");
+        } else {
+            builder.properties("spring.jpa.show-sql=true", "spring.jpa.properties.hibernate.format_sql=true");
+        }
+        context = builder.run();
+        orderService = context.getBean(OrderService.class);
+
+        request = BenchmarkData.request(ITEMS_PER_ORDER);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(BenchmarkData.request(ITEMS_PER_ORDER));
+        }
+        orderDate = orderService.createOrder(request).getOrderDate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        numberService.close();
+    }
+
+    @Benchmark
+    public OrderResponseDto createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BatchOrderResponseDto createOrders() {
+        return orderService.createOrders(batch);
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> getOrdersByDateAndAmount() {
+        return orderService.getOrdersByDateAndAmount(orderDate, MIN_AMOUNT);
+    }
+}
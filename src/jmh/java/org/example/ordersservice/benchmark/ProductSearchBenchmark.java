@@ -0,0 +1,105 @@
+package org.example.ordersservice.benchmark;
+
+import org.example.ordersservice.OrdersServiceApplication;
+import org.example.ordersservice.model.dto.OrderSearchPageDto;
+import org.example.ordersservice.service.OrderService;
+import org.example.ordersservice.service.impl.OrderProductIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency distribution of the product search on one million generated order lines, answered from the
+ * {@link OrderProductIndex} ({@code index}) or by the SQL pattern match ({@code database}).
+ *
+ * <p>Runs against the in-memory H2 database of the test profile by default. Setting the
+ * {@code benchmark.datasource.url}, {@code benchmark.datasource.username} and {@code benchmark.datasource.password}
+ * system properties runs it against PostgreSQL instead, where the {@code database} variant uses the trigram index;
+ * the generated lines are added to that database on every run and not removed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProductSearchBenchmark {
+    private static final int ORDERS = 200_000;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int PAGE_SIZE = 20;
+    private static final List<String> BRANDS = List.of("Acme", "Globex", "Initech", "Umbrella", "Hooli", "Vandelay",
+            "Soylent", "Stark", "Wayne", "Wonka");
+    private static final List<String> CATEGORIES = List.of("Wireless Mouse", "Mechanical Keyboard", "USB Cable",
+            "Gaming Monitor", "Laptop Stand", "Webcam", "Headset", "Docking Station", "Trackball", "Desk Lamp");
+
+    @Param({"index", "database"})
+    public String source;
+
+    /**
+     * Terms matching many lines ({@code mouse}), a brand prefix ({@code acme wire}) and a single product
+     * ({@code stark webcam 97}).
+     */
+    @Param({"mouse", "acme wire", "stark webcam 97"})
+    public String term;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.datasource.url");
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(OrdersServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "orders.product-index.enabled=" + source.equals("index"),
+                        "orders.coalescing.enabled=false",
+                        "number-generate-service.pool.enabled=false",
+                        "logging.level.root=WARN");
+        if (url == null) {
+            builder.profiles("test");
+        } else {
+            builder.properties(
+                    "spring.datasource.url=" + url,
+                    "spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "postgres"),
+                    "spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "postgres"));
+        }
+        context = builder.run();
+        orderService = context.getBean(OrderService.class);
+
+        // 10,000 distinct product names, each on 100 lines
+        BenchmarkData.insertOrderLines(context.getBean(JdbcTemplate.class), ORDERS, ITEMS_PER_ORDER, (order, line) -> {
+            int product = (order * 7 + line * 1_301) % 10_000;
+            return BRANDS.get(product % 10) + " " + CATEGORIES.get(product / 10 % 10) + " " + product / 100;
+        });
+        if (source.equals("index")) {
+            context.getBean(OrderProductIndex.class).rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderSearchPageDto search() {
+        return orderService.searchOrdersByProduct(term, 0, PAGE_SIZE);
+    }
+}
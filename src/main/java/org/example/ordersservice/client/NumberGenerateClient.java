@@ -0,0 +1,216 @@
+package org.example.ordersservice.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.HttpStatus;
+import org.example.ordersservice.config.NumberGenerateServiceProperties;
+import org.example.ordersservice.exception.NumberGenerateServiceUnavailableException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * HTTP client for the number-generate-service.
+ *
+ * <p>Every call passes through a bulkhead that caps concurrent calls, a circuit breaker that stops calling
+ * the service while it keeps failing or responding slowly, and a retry with jittered exponential backoff for
+ * transient failures. Calls rejected by the circuit breaker or the bulkhead fail immediately and are not retried,
+ * so a struggling number service cannot tie up the threads that also serve reads.
+ *
+ * <p>Requests are sent on a non-blocking HTTP client: no thread waits while a call is in flight, and retries are
+ * scheduled rather than slept. The bulkhead never waits for a free slot either, since it is entered on the
+ * calling thread, which may be a request thread or the single thread that schedules every retry.
+ * {@link #fetchOrderNumberAsync()} returns as soon as the request is sent; {@link #fetchOrderNumber()} waits for
+ * the result on the calling thread.
+ */
+@Slf4j
+@Component
+public class NumberGenerateClient {
+    private static final String NAME = "number-generate-service";
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final String url;
+    private final CircuitBreaker circuitBreaker;
+    private final ScheduledExecutorService retryScheduler;
+    private final Supplier<CompletionStage<String>> resilientFetch;
+
+    public NumberGenerateClient(CloseableHttpAsyncClient numberGenerateHttpClient,
+                                NumberGenerateServiceProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.httpClient = numberGenerateHttpClient;
+        this.url = properties.getUrl();
+        NumberGenerateServiceProperties.Resilience resilience = properties.getResilience();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(resilience.getSlowCallDuration())
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(resilience.getOpenStateDuration())
+                .permittedNumberOfCallsInHalfOpenState(resilience.getHalfOpenCalls())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(resilience.getMaxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(resilience.getRetryBackoff(), 2.0, 0.5))
+                .retryExceptions(NumberGenerateServiceUnavailableException.class)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(resilience.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        Retry retry = retryRegistry.retry(NAME);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(NAME);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Circuit breaker of {} changed {}", NAME, event.getStateTransition());
+            meterRegistry.counter("orders.number.circuit.transitions",
+                    "from", event.getStateTransition().getFromState().name(),
+                    "to", event.getStateTransition().getToState().name()).increment();
+        });
+        Counter bulkheadRejections = Counter.builder("orders.number.bulkhead.rejected")
+                .description("Calls to the number-generate-service rejected because too many were in flight")
+                .register(meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(event -> bulkheadRejections.increment());
+
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "number-generate-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Supplier<CompletionStage<String>> fetch = Bulkhead.decorateCompletionStage(bulkhead, this::fetchOnce);
+        fetch = CircuitBreaker.decorateCompletionStage(circuitBreaker, fetch);
+        this.resilientFetch = Retry.decorateCompletionStage(retry, retryScheduler, fetch);
+    }
+
+    /**
+     * Stops the thread that schedules retries.
+     */
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    /**
+     * Retrieves a new order number from the number-generate-service, waiting for it on the calling thread.
+     *
+     * @return The order number.
+     * @throws NumberGenerateServiceUnavailableException If the order number cannot be retrieved, or the call was
+     *                                                   rejected by the circuit breaker or the bulkhead.
+     */
+    public String fetchOrderNumber() {
+        try {
+            return fetchOrderNumberAsync().join();
+        } catch (CompletionException e) {
+            throw (NumberGenerateServiceUnavailableException) e.getCause();
+        }
+    }
+
+    /**
+     * Requests a new order number from the number-generate-service without waiting for it.
+     *
+     * <p>The returned future completes on a thread of the HTTP client or of the retry scheduler, so callers must
+     * not do blocking work in stages that run on it.
+     *
+     * @return A future completed with the order number, or failed with a
+     *         {@link NumberGenerateServiceUnavailableException} if it cannot be retrieved, or the call was rejected
+     *         by the circuit breaker or the bulkhead.
+     */
+    public CompletableFuture<String> fetchOrderNumberAsync() {
+        CompletableFuture<String> number = new CompletableFuture<>();
+        resilientFetch.get().whenComplete((result, failure) -> {
+            if (failure == null) {
+                number.complete(result);
+            } else {
+                number.completeExceptionally(unavailable(failure));
+            }
+        });
+        return number;
+    }
+
+    /**
+     * Returns whether calls are currently let through, that is, whether the circuit breaker is not open.
+     */
+    public boolean isAvailable() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private CompletionStage<String> fetchOnce() {
+        CompletableFuture<String> number = new CompletableFuture<>();
+        SimpleHttpRequest request = SimpleRequestBuilder.get(url).build();
+        httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                if (response.getCode() == HttpStatus.SC_OK && response.getBodyText() != null) {
+                    number.complete(response.getBodyText());
+                } else {
+                    number.completeExceptionally(new NumberGenerateServiceUnavailableException(
+                            "Failed to get order number from number-generate-service"));
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                number.completeExceptionally(new NumberGenerateServiceUnavailableException(
+                        "Failed to get order number from number-generate-service", e));
+            }
+
+            @Override
+            public void cancelled() {
+                number.completeExceptionally(new NumberGenerateServiceUnavailableException(
+                        "Request to number-generate-service was cancelled"));
+            }
+        });
+        return number;
+    }
+
+    private static NumberGenerateServiceUnavailableException unavailable(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (cause instanceof NumberGenerateServiceUnavailableException unavailable) {
+            return unavailable;
+        } else if (cause instanceof CallNotPermittedException) {
+            return new NumberGenerateServiceUnavailableException("Circuit breaker of number-generate-service is open", cause);
+        } else if (cause instanceof BulkheadFullException) {
+            return new NumberGenerateServiceUnavailableException("Too many concurrent calls to number-generate-service", cause);
+        }
+        return new NumberGenerateServiceUnavailableException("Failed to get order number from number-generate-service", cause);
+    }
+}
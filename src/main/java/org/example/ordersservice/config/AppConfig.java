@@ -1,8 +1,16 @@
 package org.example.ordersservice.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * This class is responsible for configuring the application's beans.
@@ -11,15 +19,41 @@ import org.springframework.web.client.RestTemplate;
 public class AppConfig {
 
     /**
-     * Creates and returns a new instance of {@link RestTemplate}.
+     * Creates the HTTP client used to call the number-generate-service.
      *
-     * <p>The {@link RestTemplate} is a convenient utility for making HTTP requests.
-     * It simplifies the process of performing GET, POST, PUT, DELETE, and other HTTP operations.
+     * <p>The client is non-blocking: requests are multiplexed over a few I/O threads and no thread waits for a
+     * response. Connections are kept in a bounded pool and reused across requests, and every phase of a call
+     * (leasing a connection, connecting, waiting for the response) is limited by a timeout, so a slow
+     * number service cannot hold requests indefinitely. The I/O threads check for expired timeouts every 100 ms
+     * rather than the client's default of one second, so sub-second timeouts are honoured.
      *
-     * @return A new instance of {@link RestTemplate}.
+     * @param properties the number-generate-service settings.
+     * @return A new, started {@link CloseableHttpAsyncClient}, closed with the application context.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public CloseableHttpAsyncClient numberGenerateHttpClient(NumberGenerateServiceProperties properties) {
+        NumberGenerateServiceProperties.Http http = properties.getHttp();
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(http.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(http.getReadTimeout()))
+                        .build())
+                .build();
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setSelectInterval(TimeValue.ofMilliseconds(100))
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(http.getConnectTimeout()))
+                        .setResponseTimeout(Timeout.of(http.getReadTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+        client.start();
+        return client;
     }
 }
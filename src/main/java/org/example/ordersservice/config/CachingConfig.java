@@ -0,0 +1,21 @@
+package org.example.ordersservice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class enables Spring's annotation-driven caching.
+ *
+ * <p>The cache provider, size and TTL are configured under {@code spring.cache}. Setting
+ * {@code spring.cache.type=none} turns caching off without code changes.
+ */
+@Configuration
+@EnableCaching
+public class CachingConfig {
+
+    /**
+     * Cache of {@code OrderResponseDto} by order id. Orders do not change after creation, so entries are
+     * only ever added on create or read and removed by size or TTL eviction.
+     */
+    public static final String ORDERS_CACHE = "orders";
+}
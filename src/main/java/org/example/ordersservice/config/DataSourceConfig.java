@@ -0,0 +1,99 @@
+package org.example.ordersservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class routes read-only transactions to read replicas when {@code orders.read-replicas.enabled} is set.
+ *
+ * <p>The application data source is a {@link LazyConnectionDataSourceProxy} over the primary pool. It fetches the
+ * physical connection only when the first statement runs, after the transaction has marked the connection read-only,
+ * and takes connections of read-only transactions from the {@link ReadReplicaDataSource}. Everything else, including
+ * Flyway migrations, reads outside a transaction and reads in a read-write transaction, uses the primary. Reads that
+ * must see a write just made, such as looking an order up right after creating it, therefore run in a read-write
+ * transaction.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.read-replicas.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    /**
+     * Creates the primary connection pool from the {@code spring.datasource} settings.
+     *
+     * @param properties the standard data source settings.
+     * @return A new {@link HikariDataSource} of the primary database.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the data source of read-only connections over one pool per replica. The pools are closed with it
+     * when the context shuts down.
+     *
+     * @param primaryDataSource the primary connection pool, used when no replica is available.
+     * @param dataSourceProperties the standard data source settings, whose credentials replicas use by default.
+     * @param ordersProperties the replica settings.
+     * @param meterRegistry the registry the replica pool metrics are published to.
+     * @return A new {@link ReadReplicaDataSource} over the replicas.
+     */
+    @Bean(destroyMethod = "close")
+    public ReadReplicaDataSource readReplicaDataSource(HikariDataSource primaryDataSource,
+                                                       DataSourceProperties dataSourceProperties,
+                                                       OrdersProperties ordersProperties,
+                                                       MeterRegistry meterRegistry) {
+        OrdersProperties.ReadReplicas settings = ordersProperties.getReadReplicas();
+        if (settings.getUrls().isEmpty()) {
+            throw new IllegalArgumentException("orders.read-replicas.urls must list at least one replica");
+        }
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < settings.getUrls().size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(settings.getUrls().get(i));
+            replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            replica.setUsername(settings.getUsername() != null
+                    ? settings.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(settings.getPassword() != null
+                    ? settings.getPassword() : dataSourceProperties.determinePassword());
+            replica.setMaximumPoolSize(settings.getMaximumPoolSize());
+            replica.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+            replica.setReadOnly(true);
+            // replicas may be down at startup; their pools connect on first use
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReadReplicaDataSource(replicas, primaryDataSource, settings.getRetryAfter());
+    }
+
+    /**
+     * Creates the application data source, which sends read-only transactions to the replicas.
+     *
+     * @param primaryDataSource the primary connection pool.
+     * @param readReplicaDataSource the data source of read-only connections.
+     * @return A new {@link LazyConnectionDataSourceProxy} routing between primary and replicas.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicaDataSource readReplicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readReplicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.ordersservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * This class registers binary representations of the API next to JSON, chosen by the {@code Accept} and
+ * {@code Content-Type} headers: CBOR as {@code application/cbor} and Smile as {@code application/x-jackson-smile}.
+ *
+ * <p>Both converters use the mapper settings of the JSON converter. Repeated strings such as enum and product
+ * names are written once per response and referenced afterwards (CBOR string references, Smile shared string
+ * values), so clients must use a decoder that supports them, as Jackson does.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    /**
+     * Media type of Smile encoded content.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Creates the converter of CBOR request and response bodies.
+     *
+     * @param builder a new builder preconfigured like the one of the JSON object mapper.
+     * @return A new {@link MappingJackson2CborHttpMessageConverter}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        CBORFactory factory = CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build();
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(factory).build());
+    }
+
+    /**
+     * Creates the converter of Smile request and response bodies.
+     *
+     * @param builder a new builder preconfigured like the one of the JSON object mapper.
+     * @return A new {@link MappingJackson2SmileHttpMessageConverter}.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
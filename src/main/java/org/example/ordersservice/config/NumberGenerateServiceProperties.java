@@ -0,0 +1,142 @@
+package org.example.ordersservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the number-generate-service and the local order-number pool in front of it.
+ */
+@Data
+@ConfigurationProperties(prefix = "number-generate-service")
+public class NumberGenerateServiceProperties {
+
+    /**
+     * URL of the endpoint that issues a new order number on every GET.
+     */
+    private String url = "http://number-generate-service:80/numbers";
+
+    /**
+     * Settings of the pre-fetched order-number pool.
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * Settings of the pooled HTTP client used to call the service.
+     */
+    private Http http = new Http();
+
+    /**
+     * Settings of the retry, circuit breaker and bulkhead around calls to the service.
+     */
+    private Resilience resilience = new Resilience();
+
+    @Data
+    public static class Pool {
+
+        /**
+         * Whether order numbers are served from the local pool instead of a remote call per order.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Pool depth at or below which a background refill is started.
+         */
+        private int lowWatermark = 50;
+
+        /**
+         * Pool depth a refill tops up to. This is also the capacity of the pool.
+         */
+        private int highWatermark = 200;
+
+        /**
+         * Number of numbers fetched per refill round.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Maximum number of refill requests in flight at once. At most half of the bulkhead's
+         * {@code max-concurrent-calls}, so calls made while the pool is being refilled still get through.
+         */
+        private int maxInFlight = 10;
+
+        /**
+         * How long a caller waits for a number when the pool is empty before the request fails.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Http {
+
+        /**
+         * Time allowed to establish a connection, and to lease one from the pool.
+         */
+        private Duration connectTimeout = Duration.ofMillis(500);
+
+        /**
+         * Time allowed to wait for a response once the request is sent.
+         */
+        private Duration readTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Maximum number of open connections to the service.
+         */
+        private int maxConnections = 50;
+    }
+
+    @Data
+    public static class Resilience {
+
+        /**
+         * Total attempts per number, including the first call.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Initial wait before a retry. It doubles with every attempt and is randomized by +/-50%.
+         */
+        private Duration retryBackoff = Duration.ofMillis(100);
+
+        /**
+         * Percentage of failed calls in the sliding window that opens the circuit.
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Calls slower than this are counted as slow.
+         */
+        private Duration slowCallDuration = Duration.ofMillis(800);
+
+        /**
+         * Percentage of slow calls in the sliding window that opens the circuit.
+         */
+        private float slowCallRateThreshold = 80;
+
+        /**
+         * Number of most recent calls the failure and slow-call rates are computed over.
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Calls needed in the window before the rates are evaluated.
+         */
+        private int minimumNumberOfCalls = 10;
+
+        /**
+         * How long the circuit stays open and rejects calls before probing the service again.
+         */
+        private Duration openStateDuration = Duration.ofSeconds(10);
+
+        /**
+         * Probe calls allowed while the circuit is half open.
+         */
+        private int halfOpenCalls = 3;
+
+        /**
+         * Maximum number of calls to the service in flight at once. Calls beyond it are rejected at once.
+         */
+        private int maxConcurrentCalls = 50;
+    }
+}
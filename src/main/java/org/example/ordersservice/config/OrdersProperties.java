@@ -0,0 +1,408 @@
+package org.example.ordersservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties of the orders-service itself.
+ */
+@Data
+@ConfigurationProperties(prefix = "orders")
+public class OrdersProperties {
+
+    /**
+     * Settings of the single order creation endpoint.
+     */
+    private Create create = new Create();
+
+    /**
+     * Settings of the bulk order creation endpoint.
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * Settings of the keyset-paginated list endpoints.
+     */
+    private Pagination pagination = new Pagination();
+
+    /**
+     * Settings of the per-day sales rollup.
+     */
+    private Stats stats = new Stats();
+
+    /**
+     * Settings of the transactional outbox of order events.
+     */
+    private Outbox outbox = new Outbox();
+
+    /**
+     * Settings of the in-memory index of orders by date and product.
+     */
+    private ProductIndex productIndex = new ProductIndex();
+
+    /**
+     * Settings of the deduplication of order creation by {@code Idempotency-Key}.
+     */
+    private Idempotency idempotency = new Idempotency();
+
+    /**
+     * Settings of the coalescing of concurrent identical list queries.
+     */
+    private Coalescing coalescing = new Coalescing();
+
+    /**
+     * Settings of the asynchronous order creation through the ingestion queue.
+     */
+    private Ingestion ingestion = new Ingestion();
+
+    /**
+     * Settings of the monthly partitions of the order tables on PostgreSQL.
+     */
+    private Partitioning partitioning = new Partitioning();
+
+    /**
+     * Settings of the read replicas that read-only transactions are routed to.
+     */
+    private ReadReplicas readReplicas = new ReadReplicas();
+
+    /**
+     * Settings of the product name search.
+     */
+    private Search search = new Search();
+
+    /**
+     * Settings of the bulk export of orders to files.
+     */
+    private Export export = new Export();
+
+    @Data
+    public static class Create {
+
+        /**
+         * Whether a request that has to wait for an order number from the number-generate-service releases its
+         * request thread while it waits. Orders whose number is at hand are created on the request thread either way.
+         */
+        private boolean nonBlocking = true;
+
+        /**
+         * Threads that store the orders whose number arrived after the request thread was released.
+         */
+        private int threads = 20;
+
+        /**
+         * Orders with a number that may wait for a free thread. Orders beyond it are rejected with 503.
+         */
+        private int queueCapacity = 200;
+
+        /**
+         * Longest a released request waits for its order number and a free thread. After it the order is not
+         * stored and the request fails with 503.
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Maximum number of orders accepted by a single batch request.
+         */
+        private int maxSize = 5000;
+    }
+
+    @Data
+    public static class Pagination {
+
+        /**
+         * Page size used when the request does not specify one.
+         */
+        private int defaultPageSize = 100;
+
+        /**
+         * Largest page size a request may ask for.
+         */
+        private int maxPageSize = 1000;
+    }
+
+    @Data
+    public static class Stats {
+
+        /**
+         * Number of rows each day of the rollup is spread over. More slots let more orders of the same day be
+         * recorded concurrently without waiting for each other, at the cost of more rows to sum when reading.
+         */
+        private int slots = 8;
+
+        /**
+         * Longest date range, in days, a single statistics request may cover.
+         */
+        private int maxDays = 366;
+    }
+
+    @Data
+    public static class Outbox {
+
+        /**
+         * Whether the outbox is drained in the background. Events are written to the outbox regardless.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of events read, delivered and deleted in one transaction.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Delay between the end of one poll and the start of the next.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Where events are delivered to: {@code file} or {@code memory}. Without a sink the outbox is not drained
+         * and events stay in the outbox table.
+         */
+        private String sink;
+
+        /**
+         * File the {@code file} sink appends events to, one JSON document per line.
+         */
+        private String file = "outbox/order-events.ndjson";
+
+        /**
+         * Size at which the {@code file} sink moves the file aside and starts a new one.
+         */
+        private DataSize maxFileSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Number of full files the {@code file} sink keeps next to the current one; older ones are deleted.
+         */
+        private int maxFiles = 5;
+    }
+
+    @Data
+    public static class ProductIndex {
+
+        /**
+         * Whether product exclusion queries are answered from the index instead of the database.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between checks that build the index if it is not built yet, and otherwise add the days that are
+         * over to it.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Idempotency {
+
+        /**
+         * Maximum number of idempotency keys remembered; keys beyond it are evicted early.
+         */
+        private long maxKeys = 100_000;
+
+        /**
+         * How long the result of a request is returned to repeated requests with the same key.
+         */
+        private Duration ttl = Duration.ofHours(1);
+
+        /**
+         * How long a repeated request waits for the first request with the same key to finish.
+         */
+        private Duration waitTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Longest idempotency key accepted.
+         */
+        private int maxKeyLength = 255;
+    }
+
+    @Data
+    public static class Coalescing {
+
+        /**
+         * Whether concurrent list queries with identical parameters share one execution.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a completed result is reused for identical queries; zero disables this micro-cache, so only
+         * queries that overlap in time share a result.
+         */
+        private Duration microCacheTtl = Duration.ZERO;
+
+        /**
+         * Maximum number of results kept in the micro-cache.
+         */
+        private long microCacheMaxEntries = 1000;
+    }
+
+    @Data
+    public static class Ingestion {
+
+        /**
+         * Whether {@code POST /orders} accepts orders into the ingestion queue and answers {@code 202 Accepted}
+         * instead of storing them before answering.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of accepted orders not yet stored, queued or being written.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * How long a request waits for room in a full queue before it is rejected.
+         */
+        private Duration offerTimeout = Duration.ofMillis(50);
+
+        /**
+         * Number of threads writing queued orders to the database.
+         */
+        private int writers = 2;
+
+        /**
+         * Maximum number of orders a writer stores in one transaction.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Delay before a writer retries a batch that failed to be stored.
+         */
+        private Duration retryBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Append-only file the accepted orders are journaled to until they are stored.
+         */
+        private String journal = "ingestion/orders.journal";
+
+        /**
+         * Size the journal may grow to before it is compacted to the orders not yet stored.
+         */
+        private DataSize journalCompactionSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Number of times an order that fails on its own for a reason other than an unavailable database is
+         * attempted before it is moved to the dead-letter file.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Append-only file of the orders that could not be stored, one JSON document per line with the error.
+         */
+        private String deadLetterFile = "ingestion/orders.dead-letter.ndjson";
+    }
+
+    @Data
+    public static class Partitioning {
+
+        /**
+         * Whether partitions are maintained in the background. Has no effect on databases other than PostgreSQL.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between maintenance runs.
+         */
+        private Duration maintenanceInterval = Duration.ofHours(6);
+
+        /**
+         * Number of months after the current one that partitions are created for in advance.
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * Age in months after which a month is detached from the order tables and moved to the archive schema;
+         * zero keeps every month attached. Archived orders are no longer returned by any endpoint.
+         */
+        private int archiveAfterMonths = 0;
+
+        /**
+         * Schema detached partitions are moved to.
+         */
+        private String archiveSchema = "orders_archive";
+    }
+
+    @Data
+    public static class ReadReplicas {
+
+        /**
+         * Whether read-only transactions use the replicas instead of the primary database.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URLs of the replicas, used in turn.
+         */
+        private List<String> urls = new ArrayList<>();
+
+        /**
+         * User name of the replicas; defaults to the one of the primary.
+         */
+        private String username;
+
+        /**
+         * Password of the replicas; defaults to the one of the primary.
+         */
+        private String password;
+
+        /**
+         * Maximum number of connections of each replica pool.
+         */
+        private int maximumPoolSize = 10;
+
+        /**
+         * How long a read waits for a replica connection before trying the next replica.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+
+        /**
+         * How long a replica that failed to hand out a connection is skipped.
+         */
+        private Duration retryAfter = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Search {
+
+        /**
+         * Shortest product search term accepted; shorter terms match too many products to be useful.
+         */
+        private int minTermLength = 3;
+    }
+
+    @Data
+    public static class Export {
+
+        /**
+         * Directory the exports are written to, one subdirectory per export.
+         */
+        private String directory = "exports";
+
+        /**
+         * Number of chunks exported in parallel, shared by all running exports.
+         */
+        private int workers = 4;
+
+        /**
+         * Width of the order identifier range of one chunk, and so of one pair of output files.
+         */
+        private long chunkSize = 50000;
+
+        /**
+         * Number of rows the database cursor fetches at a time.
+         */
+        private int fetchSize = 1000;
+
+        /**
+         * Whether exports left unfinished by a previous run are resumed at startup.
+         */
+        private boolean resumeOnStartup = true;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.ordersservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class warns at startup when settings meant for development are active under the {@code prod} profile.
+ *
+ * <p>None of these settings break the service, so they are logged rather than failing startup.
+ */
+@Slf4j
+@Component
+@Profile("prod")
+@RequiredArgsConstructor
+public class ProductionSettingsValidator {
+    private static final Set<String> VERBOSE_LOG_LEVELS = Set.of("DEBUG", "TRACE", "ALL");
+
+    private final Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validate() {
+        List<String> devSettings = findDevSettings();
+        for (String setting : devSettings) {
+            log.warn("Development setting active in prod profile: {}", setting);
+        }
+    }
+
+    /**
+     * Returns a description of every development setting found in the environment.
+     */
+    List<String> findDevSettings() {
+        List<String> found = new ArrayList<>();
+        if (isTrue("spring.jpa.show-sql")) {
+            found.add("spring.jpa.show-sql=true writes every statement to stdout");
+        }
+        if (isTrue("spring.jpa.properties.hibernate.format_sql")) {
+            found.add("spring.jpa.properties.hibernate.format_sql=true");
+        }
+        for (String logger : List.of("org.hibernate.SQL", "org.hibernate.orm.jdbc.bind")) {
+            String level = environment.getProperty("logging.level." + logger, "");
+            if (VERBOSE_LOG_LEVELS.contains(level.toUpperCase())) {
+                found.add("logging.level." + logger + "=" + level + " logs every statement");
+            }
+        }
+
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "none");
+        if (!ddlAuto.equals("validate") && !ddlAuto.equals("none")) {
+            found.add("spring.jpa.hibernate.ddl-auto=" + ddlAuto + " lets Hibernate change the schema");
+        }
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (url.startsWith("jdbc:h2:")) {
+            found.add("spring.datasource.url points to an H2 database");
+        }
+
+        String dataSourceProperties = "spring.datasource.hikari.data-source-properties.";
+        if (!isTrue(dataSourceProperties + "reWriteBatchedInserts")) {
+            found.add("reWriteBatchedInserts is not enabled, batched inserts are sent row by row");
+        }
+        if ("0".equals(environment.getProperty(dataSourceProperties + "prepareThreshold"))) {
+            found.add("prepareThreshold=0 disables server-side prepared statements");
+        }
+
+        String outboxSink = environment.getProperty("orders.outbox.sink", "");
+        if (outboxSink.isBlank()) {
+            found.add("orders.outbox.sink is not set, outbox events are not delivered and stay in the database");
+        } else if (outboxSink.equals("memory")) {
+            found.add("orders.outbox.sink=memory loses outbox events on restart");
+        }
+        return found;
+    }
+
+    private boolean isTrue(String key) {
+        return environment.getProperty(key, Boolean.class, false);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.ordersservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Data source of read-only connections that spreads them over the replica pools round-robin.
+ *
+ * <p>A replica that fails to hand out a connection is skipped for the configured retry delay. When no replica can
+ * hand out a connection, the connection comes from the primary, so reads keep working while every replica is down.
+ *
+ * <p>Closing it closes the replica pools; the primary is left open.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+    private final List<DataSource> replicas;
+    private final DataSource primary;
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray skippedUntil;
+
+    public ReadReplicaDataSource(List<DataSource> replicas, DataSource primary, Duration retryAfter) {
+        this.replicas = List.copyOf(replicas);
+        this.primary = primary;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.skippedUntil = new AtomicLongArray(replicas.size());
+        // nanoTime has an arbitrary origin, so "not skipped" is a point in the past rather than zero
+        long now = System.nanoTime();
+        for (int i = 0; i < replicas.size(); i++) {
+            skippedUntil.set(i, now);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Opens a connection on the next available replica, or on the primary if none is available. A pool that does
+     * not support the requested kind of connection fails the call without the replica being skipped.
+     */
+    private Connection connect(Connector connector) throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (skippedUntil.get(index) - System.nanoTime() > 0) {
+                continue;
+            }
+            try {
+                return connector.connect(replicas.get(index));
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e;
+            } catch (SQLException e) {
+                skippedUntil.set(index, System.nanoTime() + retryAfterNanos);
+                log.warn("Read replica {} is unavailable, skipping it for {} ms", index, retryAfterNanos / 1_000_000, e);
+            }
+        }
+        return connector.connect(primary);
+    }
+
+    /**
+     * Closes the replica pools that can be closed.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < replicas.size(); i++) {
+            if (replicas.get(i) instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close read replica {}", i, e);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
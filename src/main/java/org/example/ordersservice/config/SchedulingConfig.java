@@ -0,0 +1,14 @@
+package org.example.ordersservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * This class enables Spring's scheduled task execution for the background jobs of the service.
+ *
+ * <p>The scheduler thread pool is configured under {@code spring.task.scheduling}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
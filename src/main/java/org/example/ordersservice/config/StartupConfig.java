@@ -0,0 +1,28 @@
+package org.example.ordersservice.config;
+
+import org.example.ordersservice.service.OrderIngestionService;
+import org.example.ordersservice.service.OrderNumberService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+/**
+ * This class keeps the beans that do their work at startup eager when {@code spring.main.lazy-initialization}
+ * is set, as it is in the {@code fast-start} profile.
+ *
+ * <p>Everything else, including the OpenAPI documentation, is created on first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Excludes the background jobs, the ingestion journal replay and the order number pool warm-up from lazy
+     * initialization, so they start with the application rather than with the first request that needs them.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                SchedulingConfigurer.class, OrderIngestionService.class, OrderNumberService.class);
+    }
+}
@@ -1,42 +1,144 @@
 package org.example.ordersservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.ordersservice.config.MessageConverterConfig;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.dto.BatchOrderResponseDto;
+import org.example.ordersservice.model.dto.DailySalesDto;
+import org.example.ordersservice.model.dto.ExportStatusDto;
+import org.example.ordersservice.model.dto.OrderPageDto;
 import org.example.ordersservice.model.dto.OrderRequestDto;
 import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.dto.OrderSearchPageDto;
+import org.example.ordersservice.model.dto.OrderStatusDto;
+import org.example.ordersservice.service.DailySalesService;
+import org.example.ordersservice.service.IdempotencyService;
+import org.example.ordersservice.service.OrderExportService;
+import org.example.ordersservice.service.OrderIngestionService;
 import org.example.ordersservice.service.OrderService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/orders")
 @RequiredArgsConstructor
 @Tag(name = "Orders", description = "API for managing orders")
 public class OrderController {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderIngestionService orderIngestionService;
+    private final DailySalesService dailySalesService;
+    private final OrderExportService orderExportService;
+    private final OrdersProperties ordersProperties;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new order based on the provided order request data.
      *
+     * <p>When asynchronous creation is enabled, requests without an idempotency key are accepted into the
+     * ingestion queue and answered with the order number and the URL of the order status instead. Otherwise, with
+     * {@code orders.create.non-blocking} set, a request that has to wait for an order number releases its request
+     * thread until the number arrives.
+     *
      * @param request the OrderRequestDto object containing the details of the order to be created.
+     * @param idempotencyKey an optional client-chosen key; repeating a request with the same key and body returns
+     *                       the order created by the first request instead of creating another one.
      * @return a ResponseEntity containing the OrderResponseDto object representing the created order,
-     *         with a status of 201 (Created).
+     *         with a status of 201 (Created), or the OrderStatusDto of the queued order with a status of
+     *         202 (Accepted).
      */
     @PostMapping
     @Operation(summary = "Create a new order")
     @ApiResponse(responseCode = "201", description = "Order created")
-    public ResponseEntity<OrderResponseDto> createOrder(@RequestBody OrderRequestDto request) {
-        OrderResponseDto response = orderService.createOrder(request);
+    @ApiResponse(responseCode = "202", description = "Order accepted for asynchronous creation")
+    @ApiResponse(responseCode = "400", description = "Invalid order")
+    @ApiResponse(responseCode = "409", description = "A request with the same idempotency key is still in progress")
+    @ApiResponse(responseCode = "422", description = "Idempotency key already used with a different request")
+    @ApiResponse(responseCode = "503", description = "Ingestion queue is full, or no order number or thread to store the order in time")
+    public CompletableFuture<ResponseEntity<?>> createOrder(
+            @RequestBody OrderRequestDto request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        OrderResponseDto response;
+        if (idempotencyKey == null) {
+            if (orderIngestionService.isEnabled()) {
+                OrderStatusDto status = orderIngestionService.accept(request);
+                URI statusUrl = URI.create("/orders/" + UriUtils.encodePathSegment(status.getOrderNumber(),
+                        StandardCharsets.UTF_8) + "/status");
+                return CompletableFuture.completedFuture(ResponseEntity.accepted().location(statusUrl).body(status));
+            }
+            if (ordersProperties.getCreate().isNonBlocking()) {
+                return orderService.createOrderAsync(request).thenApply(OrderController::created);
+            }
+            response = orderService.createOrder(request);
+        } else {
+            checkIdempotencyKey(idempotencyKey);
+            response = idempotencyService.createOnce(idempotencyKey, request, () -> orderService.createOrder(request));
+        }
+        return CompletableFuture.completedFuture(created(response));
+    }
+
+    private static ResponseEntity<?> created(OrderResponseDto response) {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Retrieves the processing state of an order accepted for asynchronous creation.
+     *
+     * @param orderNumber the order number returned when the order was accepted.
+     * @return a ResponseEntity containing the OrderStatusDto, with the order identifier once the order is stored,
+     *         or a 404 status if no order has the number.
+     */
+    @GetMapping("/{orderNumber}/status")
+    @Operation(summary = "Get order status by order number")
+    @ApiResponse(responseCode = "200", description = "Order found")
+    @ApiResponse(responseCode = "404", description = "Order not found")
+    public ResponseEntity<OrderStatusDto> getOrderStatus(@PathVariable String orderNumber) {
+        OrderStatusDto response = orderIngestionService.getStatus(orderNumber);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Creates several orders in one request.
+     *
+     * @param requests the list of OrderRequestDto objects describing the orders to be created.
+     * @return a ResponseEntity containing the created orders and, by position in the request,
+     *         the orders that were rejected.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk")
+    @ApiResponse(responseCode = "200", description = "Batch processed")
+    @ApiResponse(responseCode = "400", description = "Batch is empty or too large")
+    public ResponseEntity<BatchOrderResponseDto> createOrders(@RequestBody List<OrderRequestDto> requests) {
+        if (requests.isEmpty() || requests.size() > ordersProperties.getBatch().getMaxSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch must contain between 1 and " + ordersProperties.getBatch().getMaxSize() + " orders");
+        }
+        BatchOrderResponseDto response = orderService.createOrders(requests);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Retrieves an order by its unique identifier.
      *
@@ -61,7 +163,8 @@ public class OrderController {
      * @return a ResponseEntity containing a list of OrderResponseDto objects representing the orders found,
      *         or an empty list if no orders match the criteria.
      */
-    @GetMapping
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, MessageConverterConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "Get orders by date and amount")
     @ApiResponse(responseCode = "200", description = "Orders found")
     public ResponseEntity<List<OrderResponseDto>> getOrdersByDateAndAmount(
@@ -80,7 +183,8 @@ public class OrderController {
      * @return a ResponseEntity containing a list of OrderResponseDto objects representing the orders found,
      *         or an empty list if no orders match the criteria.
      */
-    @GetMapping("/filter")
+    @GetMapping(value = "/filter", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, MessageConverterConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "Get orders without a product and between dates")
     @ApiResponse(responseCode = "200", description = "Orders found")
     public ResponseEntity<List<OrderResponseDto>> getOrdersWithoutProductAndBetweenDates(
@@ -90,4 +194,263 @@ public class OrderController {
         List<OrderResponseDto> response = orderService.getOrdersWithoutProductAndBetweenDates(productName, startDate, endDate);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves one page of the orders that match the specified date and amount.
+     *
+     * @param date the date on which the orders were placed.
+     * @param amount the minimum total amount of the orders to be retrieved.
+     * @param cursor the continuation token returned with the previous page, or nothing for the first page.
+     * @param size the maximum number of orders on the page.
+     * @return a ResponseEntity containing the page of orders and the continuation token of the next page,
+     *         which is absent on the last page.
+     */
+    @GetMapping(value = "/page", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, MessageConverterConfig.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Get a page of orders by date and amount")
+    @ApiResponse(responseCode = "200", description = "Orders found")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    public ResponseEntity<OrderPageDto> getOrderPageByDateAndAmount(
+            @RequestParam LocalDate date,
+            @RequestParam BigDecimal amount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        OrderPageDto response = orderService.getOrderPageByDateAndAmount(date, amount, cursor, pageSize(size));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Retrieves one page of the orders that do not contain a specified product and fall within a given date range.
+     *
+     * @param productName the name of the product to exclude from the search results.
+     * @param startDate the start date of the date range within which to search for orders.
+     * @param endDate the end date of the date range within which to search for orders.
+     * @param cursor the continuation token returned with the previous page, or nothing for the first page.
+     * @param size the maximum number of orders on the page.
+     * @return a ResponseEntity containing the page of orders and the continuation token of the next page,
+     *         which is absent on the last page.
+     */
+    @GetMapping(value = "/filter/page", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, MessageConverterConfig.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Get a page of orders without a product and between dates")
+    @ApiResponse(responseCode = "200", description = "Orders found")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    public ResponseEntity<OrderPageDto> getOrderPageWithoutProductAndBetweenDates(
+            @RequestParam String productName,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        OrderPageDto response = orderService.getOrderPageWithoutProductAndBetweenDates(
+                productName, startDate, endDate, cursor, pageSize(size));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Searches the orders by partial product name, best match first.
+     *
+     * @param product the part of the product name to search for, ignoring case.
+     * @param page the zero-based page number.
+     * @param size the maximum number of orders on the page.
+     * @return a ResponseEntity containing the page of matching orders and the number of all matching orders.
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, MessageConverterConfig.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Search orders by product name")
+    @ApiResponse(responseCode = "200", description = "Search completed")
+    @ApiResponse(responseCode = "400", description = "Search term too short, or invalid page or page size")
+    public ResponseEntity<OrderSearchPageDto> searchOrdersByProduct(
+            @RequestParam String product,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        int minLength = ordersProperties.getSearch().getMinTermLength();
+        if (product.strip().length() < minLength) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Search term must have at least " + minLength + " characters");
+        }
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must not be negative");
+        }
+        OrderSearchPageDto response = orderService.searchOrdersByProduct(product, page, pageSize(size));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams all orders that match the specified date and amount as newline-delimited JSON.
+     *
+     * @param date the date on which the orders were placed.
+     * @param amount the minimum total amount of the orders to be retrieved.
+     * @return a ResponseEntity whose body writes one OrderResponseDto per line while the orders are read.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream orders by date and amount as NDJSON")
+    @ApiResponse(responseCode = "200", description = "Orders streamed")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByDateAndAmount(
+            @RequestParam LocalDate date,
+            @RequestParam BigDecimal amount) {
+        StreamingResponseBody body = out -> orderService.streamOrdersByDateAndAmount(
+                date, amount, order -> writeLine(out, order));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Streams all orders that do not contain a specified product and fall within a given date range
+     * as newline-delimited JSON.
+     *
+     * @param productName the name of the product to exclude from the search results.
+     * @param startDate the start date of the date range within which to search for orders.
+     * @param endDate the end date of the date range within which to search for orders.
+     * @return a ResponseEntity whose body writes one OrderResponseDto per line while the orders are read.
+     */
+    @GetMapping(value = "/filter/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream orders without a product and between dates as NDJSON")
+    @ApiResponse(responseCode = "200", description = "Orders streamed")
+    public ResponseEntity<StreamingResponseBody> streamOrdersWithoutProductAndBetweenDates(
+            @RequestParam String productName,
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        StreamingResponseBody body = out -> orderService.streamOrdersWithoutProductAndBetweenDates(
+                productName, startDate, endDate, order -> writeLine(out, order));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Retrieves the daily sales figures within a given date range from the pre-aggregated rollup.
+     *
+     * @param startDate the first day of the date range.
+     * @param endDate the last day of the date range.
+     * @return a ResponseEntity containing the order count and revenue of every day with orders, in total and
+     *         broken down by payment and delivery type.
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Get daily sales between dates")
+    @ApiResponse(responseCode = "200", description = "Sales found")
+    @ApiResponse(responseCode = "400", description = "Invalid date range")
+    public ResponseEntity<List<DailySalesDto>> getDailySales(
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        checkStatsRange(startDate, endDate);
+        List<DailySalesDto> response = dailySalesService.getDailySales(startDate, endDate);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Recomputes the daily sales figures within a given date range from the stored orders.
+     *
+     * @param startDate the first day of the date range.
+     * @param endDate the last day of the date range.
+     * @return a ResponseEntity containing the recomputed daily sales figures.
+     */
+    @PostMapping("/stats/rebuild")
+    @Operation(summary = "Rebuild daily sales between dates from the orders")
+    @ApiResponse(responseCode = "200", description = "Sales rebuilt")
+    @ApiResponse(responseCode = "400", description = "Invalid date range")
+    public ResponseEntity<List<DailySalesDto>> rebuildDailySales(
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        checkStatsRange(startDate, endDate);
+        List<DailySalesDto> response = dailySalesService.rebuild(startDate, endDate);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Starts exporting the orders placed within a date range, with their items, to compressed files in the background.
+     *
+     * @param startDate the first order date to export.
+     * @param endDate the last order date to export.
+     * @return a ResponseEntity containing the progress of the export with a status of 202 (Accepted) and the URL
+     *         of the export progress.
+     */
+    @PostMapping("/exports")
+    @Operation(summary = "Start exporting orders between dates to files")
+    @ApiResponse(responseCode = "202", description = "Export started")
+    @ApiResponse(responseCode = "400", description = "Invalid date range")
+    public ResponseEntity<ExportStatusDto> startExport(
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date range must be ordered");
+        }
+        ExportStatusDto response = orderExportService.startExport(startDate, endDate);
+        return ResponseEntity.accepted().location(URI.create("/orders/exports/" + response.getId())).body(response);
+    }
+
+    /**
+     * Retrieves the progress of an export.
+     *
+     * @param exportId the identifier of the export.
+     * @return a ResponseEntity containing the progress of the export, or a 404 status if there is no such export.
+     */
+    @GetMapping("/exports/{exportId}")
+    @Operation(summary = "Get export progress")
+    @ApiResponse(responseCode = "200", description = "Export found")
+    @ApiResponse(responseCode = "404", description = "Export not found")
+    public ResponseEntity<ExportStatusDto> getExportStatus(@PathVariable String exportId) {
+        ExportStatusDto response = orderExportService.getExportStatus(exportId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Resumes a failed or interrupted export from its checkpoint.
+     *
+     * @param exportId the identifier of the export.
+     * @return a ResponseEntity containing the progress of the export with a status of 202 (Accepted),
+     *         or a 404 status if there is no such export.
+     */
+    @PostMapping("/exports/{exportId}/resume")
+    @Operation(summary = "Resume an export")
+    @ApiResponse(responseCode = "202", description = "Export resumed, or already running or completed")
+    @ApiResponse(responseCode = "404", description = "Export not found")
+    public ResponseEntity<ExportStatusDto> resumeExport(@PathVariable String exportId) {
+        ExportStatusDto response = orderExportService.resumeExport(exportId);
+        return ResponseEntity.accepted().location(URI.create("/orders/exports/" + exportId)).body(response);
+    }
+
+    /**
+     * Rejects idempotency keys that are blank or longer than the configured maximum.
+     */
+    private void checkIdempotencyKey(String idempotencyKey) {
+        int maxLength = ordersProperties.getIdempotency().getMaxKeyLength();
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > maxLength) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + maxLength + " characters");
+        }
+    }
+
+    /**
+     * Rejects date ranges that are reversed or longer than the configured maximum.
+     */
+    private void checkStatsRange(LocalDate startDate, LocalDate endDate) {
+        int maxDays = ordersProperties.getStats().getMaxDays();
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Date range must be ordered and cover at most " + maxDays + " days");
+        }
+    }
+
+    /**
+     * Resolves the requested page size, applying the configured default and upper bound.
+     */
+    private int pageSize(Integer requested) {
+        OrdersProperties.Pagination pagination = ordersProperties.getPagination();
+        if (requested == null) {
+            return pagination.getDefaultPageSize();
+        }
+        if (requested <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be positive");
+        }
+        return Math.min(requested, pagination.getMaxPageSize());
+    }
+
+    /**
+     * Writes one order as a single JSON line.
+     */
+    private void writeLine(OutputStream out, OrderResponseDto order) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(order));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.ordersservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when no export, running or written to disk, has the requested identifier.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ExportNotFoundException extends RuntimeException {
+
+    public ExportNotFoundException(String message) {
+        super(message);
+    }
+}
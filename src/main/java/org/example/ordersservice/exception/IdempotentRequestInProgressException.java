@@ -0,0 +1,16 @@
+package org.example.ordersservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the first request with an idempotency key is still running after a duplicate has waited for it as
+ * long as allowed. The client may retry with the same key later.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
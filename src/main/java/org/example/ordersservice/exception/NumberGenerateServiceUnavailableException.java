@@ -0,0 +1,20 @@
+package org.example.ordersservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when no order number can be obtained because the number-generate-service is failing, overloaded,
+ * or cut off by its circuit breaker.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class NumberGenerateServiceUnavailableException extends RuntimeException {
+
+    public NumberGenerateServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public NumberGenerateServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
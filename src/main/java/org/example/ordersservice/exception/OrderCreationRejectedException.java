@@ -0,0 +1,17 @@
+package org.example.ordersservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an order waiting for its order number cannot be stored in time, either because too many orders
+ * are already waiting to be stored or because the create timeout passed. The order is not stored and the client
+ * may retry later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class OrderCreationRejectedException extends RuntimeException {
+
+    public OrderCreationRejectedException(String message) {
+        super(message);
+    }
+}
@@ -47,6 +47,7 @@ public interface OrderMapper {
      * @return the mapped {@link OrderDetails} entity
      */
     @Mapping(target = "order", ignore = true)
+    @Mapping(target = "orderDate", ignore = true)
     OrderDetails toEntity(OrderDetailsDto Dto);
 
     /**
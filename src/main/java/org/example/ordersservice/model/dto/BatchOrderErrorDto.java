@@ -0,0 +1,16 @@
+package org.example.ordersservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class represents an order of a batch request that could not be created.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderErrorDto {
+    private int index;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package org.example.ordersservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * This class represents the outcome of a batch order creation request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResponseDto {
+    private List<OrderResponseDto> created;
+    private List<BatchOrderErrorDto> errors;
+}
@@ -0,0 +1,25 @@
+package org.example.ordersservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * This class represents the sales figures of one day, in total and broken down by payment and delivery type.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesDto {
+    private LocalDate date;
+    private long orderCount;
+    private BigDecimal revenue;
+    private Map<PaymentType, SalesBreakdownDto> byPaymentType;
+    private Map<DeliveryType, SalesBreakdownDto> byDeliveryType;
+}
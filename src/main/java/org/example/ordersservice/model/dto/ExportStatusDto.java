@@ -0,0 +1,46 @@
+package org.example.ordersservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * This class represents the progress of a bulk export of orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportStatusDto {
+    private String id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private State state;
+    private int totalChunks;
+    private int completedChunks;
+    private long ordersWritten;
+    private long itemsWritten;
+
+    /**
+     * Directory holding the files of the export.
+     */
+    private String directory;
+
+    public enum State {
+        /**
+         * Chunks are being exported.
+         */
+        RUNNING,
+
+        /**
+         * Every chunk has been written.
+         */
+        COMPLETED,
+
+        /**
+         * A chunk failed; the export can be resumed from its checkpoint.
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.ordersservice.model.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * This record represents one order item read by a flat item query, together with the identifier of its order.
+ *
+ * @param orderId     The identifier of the order the item belongs to.
+ * @param articleId   The article identifier of the item.
+ * @param productName The product name of the item.
+ * @param quantity    The ordered quantity.
+ * @param unitPrice   The price of one unit.
+ */
+public record OrderItemRow(Long orderId, Long articleId, String productName, Integer quantity, BigDecimal unitPrice) {
+
+    /**
+     * Returns the item details without the order identifier.
+     */
+    public OrderDetailsDto toDetailsDto() {
+        return new OrderDetailsDto(articleId, productName, quantity, unitPrice);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.ordersservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * This class represents one page of orders and the token to request the next one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDto {
+    private List<OrderResponseDto> items;
+
+    /**
+     * Opaque continuation token for the next page, or {@code null} if this is the last page.
+     */
+    private String nextCursor;
+}
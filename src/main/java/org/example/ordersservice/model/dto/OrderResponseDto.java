@@ -8,6 +8,7 @@ import org.example.ordersservice.model.entity.PaymentType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -26,4 +27,13 @@ public class OrderResponseDto {
     private PaymentType paymentType;
     private DeliveryType deliveryType;
     private List<OrderDetailsDto> items;
+
+    /**
+     * Creates a response without items yet, used by the constructor expressions of the read-only queries.
+     */
+    public OrderResponseDto(Long id, String orderNumber, BigDecimal totalAmount, LocalDate orderDate, String recipient,
+                            String deliveryAddress, PaymentType paymentType, DeliveryType deliveryType) {
+        this(id, orderNumber, totalAmount, orderDate, recipient, deliveryAddress, paymentType, deliveryType,
+                new ArrayList<>());
+    }
 }
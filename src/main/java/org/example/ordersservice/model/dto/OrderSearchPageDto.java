@@ -0,0 +1,36 @@
+package org.example.ordersservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * This class represents a data transfer object for one page of product search results, ranked by relevance.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchPageDto {
+
+    /**
+     * The orders on this page, best match first.
+     */
+    private List<OrderResponseDto> items;
+
+    /**
+     * The zero-based number of this page.
+     */
+    private int page;
+
+    /**
+     * The requested page size.
+     */
+    private int size;
+
+    /**
+     * The number of orders matching the search across all pages.
+     */
+    private long total;
+}
@@ -0,0 +1,33 @@
+package org.example.ordersservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class represents the processing state of an order accepted for asynchronous creation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusDto {
+    private String orderNumber;
+    private Status status;
+
+    /**
+     * Identifier of the stored order, or {@code null} while it is queued.
+     */
+    private Long id;
+
+    public enum Status {
+        /**
+         * Accepted and journaled, not yet stored in the database.
+         */
+        QUEUED,
+
+        /**
+         * Stored in the database.
+         */
+        PERSISTED
+    }
+}
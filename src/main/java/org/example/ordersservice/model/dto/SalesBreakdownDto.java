@@ -0,0 +1,18 @@
+package org.example.ordersservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * This class represents the number of orders and the revenue of one category of orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBreakdownDto {
+    private long orderCount;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,138 @@
+package org.example.ordersservice.model.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * This class represents one slot of the sales rollup of a day.
+ *
+ * <p>The figures of a day are spread over several slots to keep concurrent writers from contending for one row;
+ * the figures of the day are the sum over its slots.
+ */
+@Entity
+@Table(name = "daily_sales")
+@IdClass(DailySalesId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySales {
+    /**
+     * Date the orders were placed.
+     */
+    @Id
+    private LocalDate salesDate;
+
+    /**
+     * Slot of the day this row accumulates.
+     */
+    @Id
+    private int slot;
+
+    /**
+     * Number of orders placed.
+     */
+    private long orderCount;
+
+    /**
+     * Sum of the total amounts of the orders.
+     */
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    /**
+     * Number of orders paid by card.
+     */
+    private long cardOrderCount;
+
+    /**
+     * Revenue of the orders paid by card.
+     */
+    private BigDecimal cardRevenue = BigDecimal.ZERO;
+
+    /**
+     * Number of orders paid in cash.
+     */
+    private long cashOrderCount;
+
+    /**
+     * Revenue of the orders paid in cash.
+     */
+    private BigDecimal cashRevenue = BigDecimal.ZERO;
+
+    /**
+     * Number of orders picked up by the recipient.
+     */
+    private long pickupOrderCount;
+
+    /**
+     * Revenue of the orders picked up by the recipient.
+     */
+    private BigDecimal pickupRevenue = BigDecimal.ZERO;
+
+    /**
+     * Number of orders delivered to the door.
+     */
+    private long doorDeliveryOrderCount;
+
+    /**
+     * Revenue of the orders delivered to the door.
+     */
+    private BigDecimal doorDeliveryRevenue = BigDecimal.ZERO;
+
+    public DailySales(LocalDate salesDate, int slot) {
+        this.salesDate = salesDate;
+        this.slot = slot;
+    }
+
+    /**
+     * Adds an order to the figures of this row.
+     *
+     * @param order The order to be added.
+     */
+    public void addOrder(Order order) {
+        BigDecimal amount = order.getTotalAmount() == null ? BigDecimal.ZERO : order.getTotalAmount();
+        orderCount++;
+        revenue = revenue.add(amount);
+
+        if (order.getPaymentType() == PaymentType.CARD) {
+            cardOrderCount++;
+            cardRevenue = cardRevenue.add(amount);
+        } else if (order.getPaymentType() == PaymentType.CASH) {
+            cashOrderCount++;
+            cashRevenue = cashRevenue.add(amount);
+        }
+
+        if (order.getDeliveryType() == DeliveryType.PICKUP) {
+            pickupOrderCount++;
+            pickupRevenue = pickupRevenue.add(amount);
+        } else if (order.getDeliveryType() == DeliveryType.DOOR_DELIVERY) {
+            doorDeliveryOrderCount++;
+            doorDeliveryRevenue = doorDeliveryRevenue.add(amount);
+        }
+    }
+
+    /**
+     * Adds the figures of another row to the figures of this row.
+     *
+     * @param other The row to be added.
+     */
+    public void add(DailySales other) {
+        orderCount += other.orderCount;
+        revenue = revenue.add(other.revenue);
+        cardOrderCount += other.cardOrderCount;
+        cardRevenue = cardRevenue.add(other.cardRevenue);
+        cashOrderCount += other.cashOrderCount;
+        cashRevenue = cashRevenue.add(other.cashRevenue);
+        pickupOrderCount += other.pickupOrderCount;
+        pickupRevenue = pickupRevenue.add(other.pickupRevenue);
+        doorDeliveryOrderCount += other.doorDeliveryOrderCount;
+        doorDeliveryRevenue = doorDeliveryRevenue.add(other.doorDeliveryRevenue);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.ordersservice.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * This class represents the composite key of a {@link DailySales} row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesId implements Serializable {
+    private LocalDate salesDate;
+    private int slot;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 /**
  * This class represents the details of an order.
@@ -20,7 +21,8 @@ public class OrderDetails {
      * The unique identifier of the order detail.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_details_seq")
+    @SequenceGenerator(name = "order_details_seq", sequenceName = "order_details_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -49,4 +51,19 @@ public class OrderDetails {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
+
+    /**
+     * The date of the order, copied from it when the item is first stored. The item tables are partitioned by it.
+     */
+    private LocalDate orderDate;
+
+    /**
+     * Copies the order date of the order unless it was set explicitly.
+     */
+    @PrePersist
+    void copyOrderDate() {
+        if (orderDate == null && order != null) {
+            orderDate = order.getOrderDate();
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package org.example.ordersservice.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * This class represents an event waiting in the outbox to be published.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    public static final String ORDER_CREATED = "OrderCreated";
+
+    /**
+     * The unique identifier of the event. Allocated in blocks per instance, so it orders the events written in one
+     * transaction but not the events of different instances.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Type of the event.
+     */
+    private String eventType;
+
+    /**
+     * Identifier of the order the event is about.
+     */
+    private Long aggregateId;
+
+    /**
+     * JSON representation of the event.
+     */
+    private String payload;
+
+    /**
+     * Time the event was written, which defines the publishing order of the events of an order.
+     */
+    private Instant createdAt;
+}
@@ -0,0 +1,12 @@
+package org.example.ordersservice.model.event;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published by the partition maintenance once all orders placed before a day have been moved to
+ * the archive schema, whichever instance moved them.
+ *
+ * @param archivedBefore The first day whose orders are still in the order tables.
+ */
+public record OrdersArchivedEvent(LocalDate archivedBefore) {
+}
@@ -0,0 +1,13 @@
+package org.example.ordersservice.model.event;
+
+import org.example.ordersservice.model.entity.Order;
+
+import java.util.List;
+
+/**
+ * Application event published when orders have been stored, together with their items.
+ *
+ * @param orders The created orders, with their identifiers assigned.
+ */
+public record OrdersCreatedEvent(List<Order> orders) {
+}
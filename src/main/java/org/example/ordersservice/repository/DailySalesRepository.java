@@ -0,0 +1,105 @@
+package org.example.ordersservice.repository;
+
+import org.example.ordersservice.model.entity.DailySales;
+import org.example.ordersservice.model.entity.DailySalesId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This interface extends {@link JpaRepository} to provide data access operations for {@link DailySales} rows.
+ *
+ * <p>Rows are updated in place by adding to their figures instead of being read and written back, so
+ * concurrent transactions never overwrite each other's increments.
+ */
+public interface DailySalesRepository extends JpaRepository<DailySales, DailySalesId> {
+
+    /**
+     * Finds all slots of the days within the given date range.
+     *
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     * @return The rows ordered by day.
+     */
+    List<DailySales> findBySalesDateBetweenOrderBySalesDate(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Creates an empty row for the given slot of a day unless it already exists.
+     *
+     * @param salesDate The day.
+     * @param slot      The slot of the day.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales (sales_date, slot) VALUES (:salesDate, :slot) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    void insertIfAbsent(@Param("salesDate") LocalDate salesDate, @Param("slot") int slot);
+
+    /**
+     * Adds the figures of the given row to the stored row with the same day and slot.
+     *
+     * @param delta The figures to be added.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE DailySales s SET " +
+            "s.orderCount = s.orderCount + :#{#delta.orderCount}, " +
+            "s.revenue = s.revenue + :#{#delta.revenue}, " +
+            "s.cardOrderCount = s.cardOrderCount + :#{#delta.cardOrderCount}, " +
+            "s.cardRevenue = s.cardRevenue + :#{#delta.cardRevenue}, " +
+            "s.cashOrderCount = s.cashOrderCount + :#{#delta.cashOrderCount}, " +
+            "s.cashRevenue = s.cashRevenue + :#{#delta.cashRevenue}, " +
+            "s.pickupOrderCount = s.pickupOrderCount + :#{#delta.pickupOrderCount}, " +
+            "s.pickupRevenue = s.pickupRevenue + :#{#delta.pickupRevenue}, " +
+            "s.doorDeliveryOrderCount = s.doorDeliveryOrderCount + :#{#delta.doorDeliveryOrderCount}, " +
+            "s.doorDeliveryRevenue = s.doorDeliveryRevenue + :#{#delta.doorDeliveryRevenue} " +
+            "WHERE s.salesDate = :#{#delta.salesDate} AND s.slot = :#{#delta.slot}")
+    int increment(@Param("delta") DailySales delta);
+
+    /**
+     * Locks the table against writers until the end of the transaction, on PostgreSQL only. Transactions that
+     * already wrote to it are waited for, and {@link #insertIfAbsent} and {@link #increment} wait until the lock
+     * is released; readers are not blocked.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE daily_sales IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockAgainstWriters();
+
+    /**
+     * Deletes all slots of the days within the given date range.
+     *
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     */
+    @Modifying
+    @Query("DELETE FROM DailySales s WHERE s.salesDate BETWEEN :startDate AND :endDate")
+    void deleteBySalesDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Recomputes the rows of the days within the given date range from the orders, one row per day in slot 0.
+     * The existing rows of these days must have been deleted before.
+     *
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     * @return The number of days with orders.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales (sales_date, slot, order_count, revenue, " +
+            "card_order_count, card_revenue, cash_order_count, cash_revenue, " +
+            "pickup_order_count, pickup_revenue, door_delivery_order_count, door_delivery_revenue) " +
+            "SELECT o.order_date, 0, COUNT(*), COALESCE(SUM(o.total_amount), 0), " +
+            "SUM(CASE WHEN o.payment_type = 'CARD' THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN o.payment_type = 'CARD' THEN o.total_amount END), 0), " +
+            "SUM(CASE WHEN o.payment_type = 'CASH' THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN o.payment_type = 'CASH' THEN o.total_amount END), 0), " +
+            "SUM(CASE WHEN o.delivery_type = 'PICKUP' THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN o.delivery_type = 'PICKUP' THEN o.total_amount END), 0), " +
+            "SUM(CASE WHEN o.delivery_type = 'DOOR_DELIVERY' THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN o.delivery_type = 'DOOR_DELIVERY' THEN o.total_amount END), 0) " +
+            "FROM orders o WHERE o.order_date BETWEEN :startDate AND :endDate GROUP BY o.order_date",
+            nativeQuery = true)
+    int insertFromOrders(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -1,41 +1,357 @@
 package org.example.ordersservice.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.ordersservice.model.dto.OrderItemRow;
+import org.example.ordersservice.model.dto.OrderResponseDto;
 import org.example.ordersservice.model.entity.Order;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * This interface extends {@link JpaRepository} to provide data access operations for {@link Order} entities.
  * It includes custom query methods for retrieving specific order data based on various criteria.
+ *
+ * <p>Keyset page queries leave the items lazy, because fetching a collection
+ * together with a row limit would make Hibernate paginate in memory; the configured batch fetch size loads
+ * them for a whole page at once. Stream queries fetch the items by join, ordered by order, and read the
+ * result with a JDBC fetch size instead of materializing it.
+ *
+ * <p>Read-only list paths use projection queries, which build {@link OrderResponseDto} and
+ * {@link OrderItemRow} instances straight from the result set through constructor expressions. Nothing they return
+ * enters the persistence context, so no entity, collection or dirty-checking snapshot is created. Callers read the
+ * orders first and then the items of exactly those orders by identifier, grouping them by order identifier, so
+ * both reads agree even when orders are committed in between.
+ *
+ * <p>On PostgreSQL both order tables are partitioned by month of the order date. Queries restricted to a date
+ * range also restrict the items they look at to it, so both tables are pruned to the partitions of the range.
+ * Lookups by identifier take the date range of the orders as well whenever the caller knows it.
  */
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     /**
-     * Finds all orders with the given order date and total amount greater than or equal to the specified amount.
+     * Projects the orders with the given order date and a total amount greater than or equal to the specified amount.
      *
-     * @param date    The order date to match.
-     * @param amount  The minimum total amount to match.
-     * @return A list of orders that match the given criteria.
+     * @param date   The order date to match.
+     * @param amount The minimum total amount to match.
+     * @return The matching orders, without items.
      */
-    List<Order> findByOrderDateAndTotalAmountGreaterThanEqual(LocalDate date, BigDecimal amount);
+    @Query("SELECT new org.example.ordersservice.model.dto.OrderResponseDto(o.id, o.orderNumber, o.totalAmount, " +
+            "o.orderDate, o.recipient, o.deliveryAddress, o.paymentType, o.deliveryType) FROM Order o " +
+            "WHERE o.orderDate = :date AND o.totalAmount >= :amount")
+    List<OrderResponseDto> findSummariesByOrderDateAndTotalAmount(
+            @Param("date") LocalDate date,
+            @Param("amount") BigDecimal amount
+    );
+
+    /**
+     * Projects the orders that do not contain a specific product within the given date range.
+     *
+     * @param productName The name of the product to exclude.
+     * @param startDate   The start date of the range to match.
+     * @param endDate     The end date of the range to match.
+     * @return The matching orders, without items.
+     */
+    @Query("SELECT new org.example.ordersservice.model.dto.OrderResponseDto(o.id, o.orderNumber, o.totalAmount, " +
+            "o.orderDate, o.recipient, o.deliveryAddress, o.paymentType, o.deliveryType) FROM Order o " +
+            "WHERE o.orderDate BETWEEN :startDate AND :endDate " +
+            "AND NOT EXISTS (SELECT d FROM o.items d WHERE d.productName = :productName " +
+            "AND d.orderDate BETWEEN :startDate AND :endDate)")
+    List<OrderResponseDto> findSummariesWithoutProductAndBetweenDates(
+            @Param("productName") String productName,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Projects the orders with the given identifiers.
+     *
+     * @param ids The identifiers of the orders.
+     * @return The orders found, ordered by identifier, without items.
+     */
+    @Query("SELECT new org.example.ordersservice.model.dto.OrderResponseDto(o.id, o.orderNumber, o.totalAmount, " +
+            "o.orderDate, o.recipient, o.deliveryAddress, o.paymentType, o.deliveryType) FROM Order o " +
+            "WHERE o.id IN :ids ORDER BY o.id")
+    List<OrderResponseDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Projects the orders with the given identifiers placed within the given date range. The range restricts the
+     * partitions of {@code orders} that are scanned and must cover the dates of the orders.
+     *
+     * @param ids       The identifiers of the orders.
+     * @param startDate The earliest order date of the orders.
+     * @param endDate   The latest order date of the orders.
+     * @return The orders found, ordered by identifier, without items.
+     */
+    @Query("SELECT new org.example.ordersservice.model.dto.OrderResponseDto(o.id, o.orderNumber, o.totalAmount, " +
+            "o.orderDate, o.recipient, o.deliveryAddress, o.paymentType, o.deliveryType) FROM Order o " +
+            "WHERE o.id IN :ids AND o.orderDate BETWEEN :startDate AND :endDate ORDER BY o.id")
+    List<OrderResponseDto> findSummariesByIdInAndBetweenDates(
+            @Param("ids") Collection<Long> ids,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Projects the items of the orders with the given identifiers.
+     *
+     * @param orderIds The identifiers of the orders.
+     * @return The items of the orders, ordered by item identifier.
+     */
+    @Query("SELECT new org.example.ordersservice.model.dto.OrderItemRow(i.order.id, i.articleId, i.productName, " +
+            "i.quantity, i.unitPrice) FROM OrderDetails i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItemRow> findItemRowsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Projects the items of the orders with the given identifiers placed within the given date range. The range
+     * restricts the partitions of {@code order_details} that are scanned and must cover the dates of the orders.
+     *
+     * @param orderIds  The identifiers of the orders.
+     * @param startDate The earliest order date of the orders.
+     * @param endDate   The latest order date of the orders.
+     * @return The items of the orders, ordered by item identifier.
+     */
+    @Query("SELECT new org.example.ordersservice.model.dto.OrderItemRow(i.order.id, i.articleId, i.productName, " +
+            "i.quantity, i.unitPrice) FROM OrderDetails i WHERE i.order.id IN :orderIds " +
+            "AND i.orderDate BETWEEN :startDate AND :endDate ORDER BY i.id")
+    List<OrderItemRow> findItemRowsByOrderIdInAndBetweenDates(
+            @Param("orderIds") Collection<Long> orderIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Finds the orders containing a product whose name contains the search term, best match first: orders with a
+     * product named exactly like the term, then with a name starting with it, then with a later word starting with
+     * it, then the rest. Orders of the same rank are newest first. The patterns must escape {@code %}, {@code _} and
+     * backslashes with a backslash. On PostgreSQL the trigram index on {@code lower(product_name)} serves the
+     * pattern match.
+     *
+     * @param term       The lower-case search term.
+     * @param prefix     The pattern of names starting with the term.
+     * @param wordPrefix The pattern of names with a later word starting with the term.
+     * @param contains   The pattern of names containing the term.
+     * @param pageable   The page of matching orders to return.
+     * @return The identifiers of the matching orders on the page.
+     */
+    @Query("SELECT i.order.id FROM OrderDetails i WHERE LOWER(i.productName) LIKE :contains ESCAPE '\\' " +
+            "GROUP BY i.order.id " +
+            "ORDER BY MIN(CASE WHEN LOWER(i.productName) = :term THEN 0 " +
+            "WHEN LOWER(i.productName) LIKE :prefix ESCAPE '\\' THEN 1 " +
+            "WHEN LOWER(i.productName) LIKE :wordPrefix ESCAPE '\\' THEN 2 ELSE 3 END), i.order.id DESC")
+    List<Long> searchOrderIdsByProduct(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("wordPrefix") String wordPrefix,
+            @Param("contains") String contains,
+            Pageable pageable
+    );
+
+    /**
+     * Counts the orders containing a product whose name matches the pattern.
+     *
+     * @param contains The pattern of names containing the search term, escaped as for {@link #searchOrderIdsByProduct}.
+     * @return The number of matching orders.
+     */
+    @Query("SELECT COUNT(DISTINCT i.order.id) FROM OrderDetails i WHERE LOWER(i.productName) LIKE :contains ESCAPE '\\'")
+    long countOrdersByProduct(@Param("contains") String contains);
+
+    /**
+     * Finds the next page of orders with the given order date and a total amount greater than or equal to
+     * the specified amount, ordered by order date and identifier.
+     *
+     * @param date      The order date to match.
+     * @param amount    The minimum total amount to match.
+     * @param afterDate The order date of the last order of the previous page.
+     * @param afterId   The identifier of the last order of the previous page.
+     * @param pageable  The maximum number of orders to return.
+     * @return The orders positioned after the given key.
+     */
+    @Query("SELECT o FROM Order o WHERE o.orderDate = :date AND o.totalAmount >= :amount " +
+            "AND (o.orderDate > :afterDate OR (o.orderDate = :afterDate AND o.id > :afterId)) " +
+            "ORDER BY o.orderDate, o.id")
+    List<Order> findPageByOrderDateAndTotalAmount(
+            @Param("date") LocalDate date,
+            @Param("amount") BigDecimal amount,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            Pageable pageable
+    );
+
+    /**
+     * Finds the next page of orders that do not contain a specific product within the given date range,
+     * ordered by order date and identifier.
+     *
+     * @param productName The name of the product to exclude.
+     * @param startDate   The start date of the range to match.
+     * @param endDate     The end date of the range to match.
+     * @param afterDate   The order date of the last order of the previous page.
+     * @param afterId     The identifier of the last order of the previous page.
+     * @param pageable    The maximum number of orders to return.
+     * @return The orders positioned after the given key.
+     */
+    @Query("SELECT o FROM Order o WHERE o.orderDate BETWEEN :startDate AND :endDate " +
+            "AND (o.orderDate > :afterDate OR (o.orderDate = :afterDate AND o.id > :afterId)) " +
+            "AND NOT EXISTS (SELECT i FROM o.items i WHERE i.productName = :productName " +
+            "AND i.orderDate BETWEEN :startDate AND :endDate) " +
+            "ORDER BY o.orderDate, o.id")
+    List<Order> findPageWithoutProductAndBetweenDates(
+            @Param("productName") String productName,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            Pageable pageable
+    );
+
+    /**
+     * Streams all orders with the given order date and a total amount greater than or equal to the specified amount.
+     * Must be called within a transaction and the stream must be closed.
+     *
+     * @param date   The order date to match.
+     * @param amount The minimum total amount to match.
+     * @return A stream of the matching orders, with their items loaded.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.orderDate = :date AND o.totalAmount >= :amount ORDER BY o.id")
+    Stream<Order> streamByOrderDateAndTotalAmount(
+            @Param("date") LocalDate date,
+            @Param("amount") BigDecimal amount
+    );
+
+    /**
+     * Streams all orders that do not contain a specific product within the given date range.
+     * Must be called within a transaction and the stream must be closed.
+     *
+     * @param productName The name of the product to exclude.
+     * @param startDate   The start date of the range to match.
+     * @param endDate     The end date of the range to match.
+     * @return A stream of the matching orders, with their items loaded.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.orderDate BETWEEN :startDate AND :endDate " +
+            "AND NOT EXISTS (SELECT i FROM o.items i WHERE i.productName = :productName " +
+            "AND i.orderDate BETWEEN :startDate AND :endDate) " +
+            "ORDER BY o.orderDate, o.id")
+    Stream<Order> streamWithoutProductAndBetweenDates(
+            @Param("productName") String productName,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Streams the identifier and order date of every order.
+     *
+     * @return A stream of {@code [id, orderDate]} pairs that must be closed after use.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT o.id, o.orderDate FROM Order o")
+    Stream<Object[]> streamIdsAndDates();
+
+    /**
+     * Streams the order identifier and product name of every order item.
+     *
+     * @return A stream of {@code [orderId, productName]} pairs that must be closed after use.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT i.order.id, i.productName FROM OrderDetails i")
+    Stream<Object[]> streamOrderIdsAndProductNames();
+
+    /**
+     * Streams the identifier and order date of the orders placed within the given date range.
+     *
+     * @param startDate The first day of the range.
+     * @param endDate   The day after the range.
+     * @return A stream of {@code [id, orderDate]} pairs that must be closed after use.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT o.id, o.orderDate FROM Order o WHERE o.orderDate >= :startDate AND o.orderDate < :endDate")
+    Stream<Object[]> streamIdsAndDatesBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
 
     /**
-     * Finds all orders that do not contain a specific product within the given date range.
+     * Streams the order identifier and product name of the items of orders placed within the given date range.
      *
-     * @param productName  The name of the product to exclude.
-     * @param startDate    The start date of the range to match.
-     * @param endDate      The end date of the range to match.
-     * @return A list of orders that do not contain the specified product within the given date range.
+     * @param startDate The first day of the range.
+     * @param endDate   The day after the range.
+     * @return A stream of {@code [orderId, productName]} pairs that must be closed after use.
      */
-    @Query("SELECT o FROM Order o WHERE o.orderDate BETWEEN :startDate AND :endDate AND NOT EXISTS (SELECT i FROM o.items i WHERE i.productName = :productName)")
-    List<Order> findOrdersWithoutProductAndBetweenDates(
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT i.order.id, i.productName FROM OrderDetails i " +
+            "WHERE i.orderDate >= :startDate AND i.orderDate < :endDate")
+    Stream<Object[]> streamOrderIdsAndProductNamesBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Finds the identifiers of the orders that do not contain a specific product within the given date range.
+     *
+     * @param productName The name of the product to exclude.
+     * @param startDate   The start date of the range to match.
+     * @param endDate     The end date of the range to match.
+     * @return The identifiers of the matching orders.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.orderDate BETWEEN :startDate AND :endDate " +
+            "AND NOT EXISTS (SELECT d FROM o.items d WHERE d.productName = :productName " +
+            "AND d.orderDate BETWEEN :startDate AND :endDate)")
+    List<Long> findIdsWithoutProductAndBetweenDates(
             @Param("productName") String productName,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
+
+    /**
+     * Finds the orders placed on or after the given date containing a product whose name contains the search term,
+     * each with the rank of its best matching product as in {@link #searchOrderIdsByProduct}.
+     *
+     * @param term       The lower-case search term.
+     * @param prefix     The pattern of names starting with the term.
+     * @param wordPrefix The pattern of names with a later word starting with the term.
+     * @param contains   The pattern of names containing the term.
+     * @param startDate  The earliest order date to match.
+     * @return {@code [orderId, rank]} pairs of the matching orders.
+     */
+    @Query("SELECT i.order.id, MIN(CASE WHEN LOWER(i.productName) = :term THEN 0 " +
+            "WHEN LOWER(i.productName) LIKE :prefix ESCAPE '\\' THEN 1 " +
+            "WHEN LOWER(i.productName) LIKE :wordPrefix ESCAPE '\\' THEN 2 ELSE 3 END) FROM OrderDetails i " +
+            "WHERE i.orderDate >= :startDate AND LOWER(i.productName) LIKE :contains ESCAPE '\\' " +
+            "GROUP BY i.order.id")
+    List<Object[]> findOrderIdsAndRanksByProductSince(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("wordPrefix") String wordPrefix,
+            @Param("contains") String contains,
+            @Param("startDate") LocalDate startDate
+    );
+
+    /**
+     * Finds the identifier of the order with the given order number.
+     *
+     * @param orderNumber The order number.
+     * @return The identifier, or empty if no order has the number.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.orderNumber = :orderNumber")
+    Optional<Long> findIdByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    /**
+     * Finds which of the given order numbers belong to stored orders.
+     *
+     * @param orderNumbers The order numbers to look up.
+     * @return The order numbers found, in no particular order.
+     */
+    @Query("SELECT o.orderNumber FROM Order o WHERE o.orderNumber IN :orderNumbers")
+    List<String> findExistingOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
 }
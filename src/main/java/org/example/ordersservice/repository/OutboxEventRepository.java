@@ -0,0 +1,54 @@
+package org.example.ordersservice.repository;
+
+import org.example.ordersservice.model.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * This interface extends {@link JpaRepository} to provide data access operations for {@link OutboxEvent} entities.
+ *
+ * <p>The outbox is split into partitions by aggregate: an event belongs to partition
+ * {@code aggregateId % partitions}, and the partitions are the rows of the {@code outbox_partitions} table.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the numbers of all outbox partitions.
+     *
+     * @return The partition numbers in ascending order.
+     */
+    @Query(value = "SELECT partition_no FROM outbox_partitions ORDER BY partition_no", nativeQuery = true)
+    List<Integer> findPartitions();
+
+    /**
+     * Locks the row of the given partition until the end of the transaction, unless another transaction holds it
+     * ({@code FOR UPDATE SKIP LOCKED}). Only the holder of the lock reads and deletes events of the partition, so
+     * instances publish different partitions side by side and never deliver the same events twice.
+     *
+     * @param partition The partition number.
+     * @return The partition number if the lock was taken, or an empty list if another transaction holds it.
+     */
+    @Query(value = "SELECT partition_no FROM outbox_partitions WHERE partition_no = :partition FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Integer> lockPartition(@Param("partition") int partition);
+
+    /**
+     * Finds the oldest events of a partition. Events are ordered by creation time and then by identifier, which
+     * orders the events written in one transaction; identifiers alone are allocated in blocks per instance and do
+     * not follow creation order.
+     *
+     * @param partition  The partition number.
+     * @param partitions The number of partitions.
+     * @param pageable   The maximum number of events to return.
+     * @return The events in creation order.
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE MOD(e.aggregateId, :partitions) = :partition " +
+            "ORDER BY e.createdAt, e.id")
+    List<OutboxEvent> findOldestOfPartition(@Param("partition") int partition,
+                                           @Param("partitions") int partitions,
+                                           Pageable pageable);
+}
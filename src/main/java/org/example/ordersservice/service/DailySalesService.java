@@ -0,0 +1,38 @@
+package org.example.ordersservice.service;
+
+import org.example.ordersservice.model.dto.DailySalesDto;
+import org.example.ordersservice.model.entity.Order;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This interface defines the operations of the per-day sales rollup.
+ */
+public interface DailySalesService {
+
+    /**
+     * Adds newly created orders to the rollup. Must be called in the transaction that persists the orders.
+     *
+     * @param orders The created orders.
+     */
+    void recordOrders(List<Order> orders);
+
+    /**
+     * Retrieves the sales figures of every day with orders within the given date range.
+     *
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     * @return The figures ordered by day.
+     */
+    List<DailySalesDto> getDailySales(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Recomputes the rollup of the given date range from the orders.
+     *
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     * @return The recomputed figures ordered by day.
+     */
+    List<DailySalesDto> rebuild(LocalDate startDate, LocalDate endDate);
+}
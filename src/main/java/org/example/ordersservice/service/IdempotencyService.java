@@ -0,0 +1,27 @@
+package org.example.ordersservice.service;
+
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+
+import java.util.function.Supplier;
+
+/**
+ * This interface defines the deduplication of order creation requests by client-supplied idempotency key.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Creates an order at most once per idempotency key. The first request with a key runs {@code create}; repeated
+     * requests with the same key and body receive its result, waiting for it if it is still running.
+     *
+     * @param idempotencyKey The key the client sent with the request.
+     * @param request        The order request data, which must not differ between requests with the same key.
+     * @param create         Creates the order.
+     * @return The order created by the first request with the key.
+     * @throws org.example.ordersservice.exception.IdempotencyKeyReusedException        If the key was used with a
+     *                                                                                  different request body.
+     * @throws org.example.ordersservice.exception.IdempotentRequestInProgressException If the first request did not
+     *                                                                                  finish within the wait timeout.
+     */
+    OrderResponseDto createOnce(String idempotencyKey, OrderRequestDto request, Supplier<OrderResponseDto> create);
+}
@@ -0,0 +1,50 @@
+package org.example.ordersservice.service;
+
+import org.example.ordersservice.model.dto.ExportStatusDto;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * This interface defines the bulk export of orders and their items to files.
+ */
+public interface OrderExportService {
+
+    /**
+     * Starts exporting the orders placed between the specified dates in the background.
+     *
+     * @param startDate The first order date to export.
+     * @param endDate The last order date to export.
+     * @return The progress of the new export.
+     */
+    ExportStatusDto startExport(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Resumes an export that failed or was interrupted, exporting only the chunks its checkpoint lacks.
+     * An export that is running or completed is left as it is.
+     *
+     * @param exportId The identifier of the export.
+     * @return The progress of the export.
+     * @throws org.example.ordersservice.exception.ExportNotFoundException If there is no such export.
+     */
+    ExportStatusDto resumeExport(String exportId);
+
+    /**
+     * Retrieves the progress of an export.
+     *
+     * @param exportId The identifier of the export.
+     * @return The progress of the export.
+     * @throws org.example.ordersservice.exception.ExportNotFoundException If there is no such export.
+     */
+    ExportStatusDto getExportStatus(String exportId);
+
+    /**
+     * Waits until an export has stopped running, or until the timeout has passed.
+     *
+     * @param exportId The identifier of the export.
+     * @param timeout The longest time to wait.
+     * @return The progress of the export when it stopped or the timeout passed.
+     * @throws org.example.ordersservice.exception.ExportNotFoundException If there is no such export.
+     */
+    ExportStatusDto awaitExport(String exportId, Duration timeout);
+}
@@ -0,0 +1,37 @@
+package org.example.ordersservice.service;
+
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderStatusDto;
+
+/**
+ * This interface defines the asynchronous creation of orders: orders are accepted into a durable queue and
+ * stored in the database in the background.
+ */
+public interface OrderIngestionService {
+
+    /**
+     * Returns whether orders are accepted asynchronously.
+     */
+    boolean isEnabled();
+
+    /**
+     * Validates the request, assigns an order number and queues the order for storage. The order survives a restart
+     * once this method returns.
+     *
+     * @param request The details of the order to be created.
+     * @return The status of the accepted order, which is {@code QUEUED}.
+     * @throws org.example.ordersservice.exception.InvalidOrderException       If the request is invalid.
+     * @throws org.example.ordersservice.exception.IngestionQueueFullException If the queue stayed full for the
+     *                                                                         offer timeout.
+     */
+    OrderStatusDto accept(OrderRequestDto request);
+
+    /**
+     * Retrieves the processing state of an order.
+     *
+     * @param orderNumber The order number returned on acceptance.
+     * @return The status of the order.
+     * @throws org.example.ordersservice.exception.OrderNotFoundException If no order has the number.
+     */
+    OrderStatusDto getStatus(String orderNumber);
+}
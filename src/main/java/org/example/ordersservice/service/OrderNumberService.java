@@ -0,0 +1,25 @@
+package org.example.ordersservice.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This interface defines the contract for allocating order numbers.
+ */
+public interface OrderNumberService {
+
+    /**
+     * Allocates a new, never before issued order number.
+     *
+     * @return The order number.
+     * @throws RuntimeException If no order number could be allocated in time.
+     */
+    String nextOrderNumber();
+
+    /**
+     * Allocates a new, never before issued order number without blocking the calling thread while it waits for one.
+     *
+     * @return A future completed with the order number, or failed if no order number could be allocated in time.
+     *         It may complete on a thread of the number-generate-service client, which must not be blocked.
+     */
+    CompletableFuture<String> nextOrderNumberAsync();
+}
@@ -1,11 +1,16 @@
 package org.example.ordersservice.service;
 
+import org.example.ordersservice.model.dto.BatchOrderResponseDto;
+import org.example.ordersservice.model.dto.OrderPageDto;
 import org.example.ordersservice.model.dto.OrderRequestDto;
 import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.dto.OrderSearchPageDto;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * This interface defines the contract for the Order Service.
@@ -21,11 +26,29 @@ public interface OrderService {
      */
     OrderResponseDto createOrder(OrderRequestDto request);
 
+    /**
+     * Creates a new order based on the provided request, without blocking the calling thread while it waits for
+     * an order number.
+     *
+     * @param request The details of the order to be created.
+     * @return A future completed with the details of the newly created order.
+     */
+    CompletableFuture<OrderResponseDto> createOrderAsync(OrderRequestDto request);
+
+    /**
+     * Creates several orders at once, persisting all valid ones in a single transaction.
+     *
+     * @param requests The details of the orders to be created.
+     * @return The response containing the created orders and the errors of the orders that were rejected.
+     */
+    BatchOrderResponseDto createOrders(List<OrderRequestDto> requests);
+
     /**
      * Retrieves the order with the specified ID.
      *
      * @param id The unique identifier of the order.
      * @return The response containing the details of the requested order.
+     * @throws org.example.ordersservice.exception.OrderNotFoundException If no order has the identifier.
      */
     OrderResponseDto getOrderById(Long id);
 
@@ -48,4 +71,64 @@ public interface OrderService {
      */
     List<OrderResponseDto> getOrdersWithoutProductAndBetweenDates(String productName, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Retrieves one page of the orders placed on the specified date with a total amount greater than or equal to
+     * the specified amount, ordered by order date and identifier.
+     *
+     * @param date The date of the orders.
+     * @param amount The minimum total amount of the orders.
+     * @param cursor The continuation token of the previous page, or {@code null} for the first page.
+     * @param size The maximum number of orders on the page.
+     * @return The page of orders and the continuation token of the next page.
+     */
+    OrderPageDto getOrderPageByDateAndAmount(LocalDate date, BigDecimal amount, String cursor, int size);
+
+    /**
+     * Retrieves one page of the orders that do not contain the specified product and were placed between the
+     * specified start and end dates, ordered by order date and identifier.
+     *
+     * @param productName The name of the product to exclude from the orders.
+     * @param startDate The start date of the orders.
+     * @param endDate The end date of the orders.
+     * @param cursor The continuation token of the previous page, or {@code null} for the first page.
+     * @param size The maximum number of orders on the page.
+     * @return The page of orders and the continuation token of the next page.
+     */
+    OrderPageDto getOrderPageWithoutProductAndBetweenDates(String productName, LocalDate startDate, LocalDate endDate,
+                                                           String cursor, int size);
+
+    /**
+     * Retrieves one page of the orders containing a product whose name contains the search term, ignoring case.
+     * Orders with an exact product name match come first, then those with a name starting with the term, then those
+     * with a later word starting with it, then the rest; orders of the same rank are newest first.
+     *
+     * @param product The search term.
+     * @param page The zero-based page number.
+     * @param size The maximum number of orders on the page.
+     * @return The page of matching orders and the number of all matching orders.
+     */
+    OrderSearchPageDto searchOrdersByProduct(String product, int page, int size);
+
+    /**
+     * Passes every order placed on the specified date with a total amount greater than or equal to the specified
+     * amount to the consumer, one at a time, without holding the whole result in memory.
+     *
+     * @param date The date of the orders.
+     * @param amount The minimum total amount of the orders.
+     * @param consumer The consumer receiving each order.
+     */
+    void streamOrdersByDateAndAmount(LocalDate date, BigDecimal amount, Consumer<OrderResponseDto> consumer);
+
+    /**
+     * Passes every order that does not contain the specified product and was placed between the specified start
+     * and end dates to the consumer, one at a time, without holding the whole result in memory.
+     *
+     * @param productName The name of the product to exclude from the orders.
+     * @param startDate The start date of the orders.
+     * @param endDate The end date of the orders.
+     * @param consumer The consumer receiving each order.
+     */
+    void streamOrdersWithoutProductAndBetweenDates(String productName, LocalDate startDate, LocalDate endDate,
+                                                   Consumer<OrderResponseDto> consumer);
+
 }
@@ -0,0 +1,26 @@
+package org.example.ordersservice.service;
+
+import org.example.ordersservice.model.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * This interface defines where the outbox publisher delivers events to.
+ *
+ * <p>Delivery is at least once: a batch is removed from the outbox only after {@link #publish} returned, so a
+ * batch is delivered again if the publisher fails or stops in between. Consumers recognize repeated events by
+ * their identifier.
+ *
+ * <p>The events of one order reach the sink in the order they were written. Events of different orders may be
+ * published by different instances side by side and carry no order relative to each other.
+ */
+public interface OutboxEventSink {
+
+    /**
+     * Delivers a batch of events in the given order.
+     *
+     * @param events The events in the order they were written.
+     * @throws Exception If the batch could not be delivered; it will be retried with the next poll.
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
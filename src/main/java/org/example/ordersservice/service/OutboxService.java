@@ -0,0 +1,19 @@
+package org.example.ordersservice.service;
+
+import org.example.ordersservice.model.entity.Order;
+
+import java.util.List;
+
+/**
+ * This interface defines how events about orders are written to the outbox.
+ */
+public interface OutboxService {
+
+    /**
+     * Writes one order-created event per order to the outbox. Must be called in the transaction that persists
+     * the orders, so an event exists if and only if its order was stored.
+     *
+     * @param orders The created orders, with their identifiers assigned.
+     */
+    void recordOrdersCreated(List<Order> orders);
+}
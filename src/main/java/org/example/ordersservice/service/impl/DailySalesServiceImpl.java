@@ -0,0 +1,118 @@
+package org.example.ordersservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.dto.DailySalesDto;
+import org.example.ordersservice.model.dto.SalesBreakdownDto;
+import org.example.ordersservice.model.entity.DailySales;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.PaymentType;
+import org.example.ordersservice.repository.DailySalesRepository;
+import org.example.ordersservice.service.DailySalesService;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class implements the DailySalesService interface on the {@code daily_sales} table.
+ *
+ * <p>Each transaction adds its orders to one randomly chosen slot per day, so the cost of recording an order
+ * does not grow with the number of orders of the day and concurrent transactions rarely wait for each other.
+ * Days are visited in date order, so transactions that touch several days lock their rows in the same order.
+ *
+ * <p>A rebuild locks the table against writers on PostgreSQL, so an order is counted either by the rebuild or by
+ * its writer, never by both or neither. On other databases an increment that finds its slot deleted by a rebuild
+ * creates the slot again.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailySalesServiceImpl implements DailySalesService {
+    private final DailySalesRepository dailySalesRepository;
+    private final OrdersProperties ordersProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private Boolean postgres;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrders(List<Order> orders) {
+        int slot = ThreadLocalRandom.current().nextInt(ordersProperties.getStats().getSlots());
+        Map<LocalDate, DailySales> deltas = new TreeMap<>();
+        for (Order order : orders) {
+            deltas.computeIfAbsent(order.getOrderDate(), date -> new DailySales(date, slot)).addOrder(order);
+        }
+
+        for (DailySales delta : deltas.values()) {
+            // a rebuild may delete the slot between the insert and the increment
+            do {
+                dailySalesRepository.insertIfAbsent(delta.getSalesDate(), delta.getSlot());
+            } while (dailySalesRepository.increment(delta) == 0);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailySalesDto> getDailySales(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, DailySales> days = new LinkedHashMap<>();
+        for (DailySales slot : dailySalesRepository.findBySalesDateBetweenOrderBySalesDate(startDate, endDate)) {
+            days.computeIfAbsent(slot.getSalesDate(), date -> new DailySales(date, 0)).add(slot);
+        }
+
+        List<DailySalesDto> result = new ArrayList<>(days.size());
+        for (DailySales day : days.values()) {
+            if (day.getOrderCount() > 0) {
+                result.add(toDto(day));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the rows of the date range by one row per day computed from the orders, in a single transaction
+     * that holds off writers on PostgreSQL.
+     */
+    @Override
+    @Transactional
+    public List<DailySalesDto> rebuild(LocalDate startDate, LocalDate endDate) {
+        if (isPostgres()) {
+            dailySalesRepository.lockAgainstWriters();
+        }
+        dailySalesRepository.deleteBySalesDateBetween(startDate, endDate);
+        dailySalesRepository.insertFromOrders(startDate, endDate);
+        return getDailySales(startDate, endDate);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equals(product);
+        }
+        return postgres;
+    }
+
+    private DailySalesDto toDto(DailySales day) {
+        Map<PaymentType, SalesBreakdownDto> byPaymentType = new EnumMap<>(PaymentType.class);
+        byPaymentType.put(PaymentType.CARD, new SalesBreakdownDto(day.getCardOrderCount(), day.getCardRevenue()));
+        byPaymentType.put(PaymentType.CASH, new SalesBreakdownDto(day.getCashOrderCount(), day.getCashRevenue()));
+
+        Map<DeliveryType, SalesBreakdownDto> byDeliveryType = new EnumMap<>(DeliveryType.class);
+        byDeliveryType.put(DeliveryType.PICKUP,
+                new SalesBreakdownDto(day.getPickupOrderCount(), day.getPickupRevenue()));
+        byDeliveryType.put(DeliveryType.DOOR_DELIVERY,
+                new SalesBreakdownDto(day.getDoorDeliveryOrderCount(), day.getDoorDeliveryRevenue()));
+
+        return new DailySalesDto(day.getSalesDate(), day.getOrderCount(), day.getRevenue(), byPaymentType, byDeliveryType);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.ordersservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.entity.OutboxEvent;
+import org.example.ordersservice.service.OutboxEventSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * This class delivers outbox events by appending them as newline-delimited JSON to a local file.
+ *
+ * <p>Every batch is forced to disk before the publisher removes it from the outbox. Once a batch would take the
+ * file past {@code orders.outbox.max-file-size}, the file is renamed to {@code <file>.1}, earlier full files move
+ * up by one and the oldest beyond {@code orders.outbox.max-files} is deleted. A batch is never split across files.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.sink", havingValue = "file")
+public class FileOutboxEventSink implements OutboxEventSink {
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxEventSink(OrdersProperties ordersProperties, ObjectMapper objectMapper) {
+        OrdersProperties.Outbox outbox = ordersProperties.getOutbox();
+        this.file = Path.of(outbox.getFile());
+        this.maxFileSize = outbox.getMaxFileSize().toBytes();
+        this.maxFiles = outbox.getMaxFiles();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxEvent event : events) {
+            ObjectNode line = objectMapper.createObjectNode()
+                    .put("id", event.getId())
+                    .put("type", event.getEventType())
+                    .put("aggregateId", event.getAggregateId())
+                    .put("createdAt", event.getCreatedAt().toString());
+            line.set("payload", objectMapper.readTree(event.getPayload()));
+            lines.write(objectMapper.writeValueAsBytes(line));
+            lines.write('\n');
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        long size = Files.exists(file) ? Files.size(file) : 0;
+        if (size > 0 && size + lines.size() > maxFileSize) {
+            rotate();
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Moves the current file to {@code <file>.1}, shifting the full files before it and deleting the oldest.
+     */
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotated(maxFiles));
+        for (int i = maxFiles - 1; i > 0; i--) {
+            Path older = rotated(i);
+            if (Files.exists(older)) {
+                Files.move(older, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 0) {
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.ordersservice.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a gzip-compressed CSV file (RFC 4180) next to its target and moves it into place on {@link #commit()},
+ * so a file under the target name is always complete. Closing without committing deletes the partial file.
+ *
+ * <p>The file is forced to disk before it is moved, and the directory after, so once {@code commit()} returns the
+ * complete file survives a power loss under its target name.
+ */
+class GzipCsvWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path target;
+    private final Path partial;
+    private final FileChannel channel;
+    private final GZIPOutputStream gzip;
+    private final Writer writer;
+    private boolean committed;
+
+    GzipCsvWriter(Path target, String... header) throws IOException {
+        this.target = target;
+        this.partial = target.resolveSibling(target.getFileName() + ".part");
+        this.channel = FileChannel.open(partial,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.gzip = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        this.writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeRow((Object[]) header);
+    }
+
+    /**
+     * Writes one row. {@code null} becomes an empty field, and fields containing a separator, quote or line break
+     * are quoted.
+     */
+    void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Finishes the file, forces it to disk and moves it to the target name, replacing a file left by an earlier
+     * attempt. The move is forced to disk as well before this returns.
+     */
+    void commit() throws IOException {
+        writer.flush();
+        gzip.finish();
+        channel.force(true);
+        writer.close();
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+        try (FileChannel directory = FileChannel.open(target.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            writer.close();
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
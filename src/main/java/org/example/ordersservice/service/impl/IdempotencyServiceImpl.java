@@ -0,0 +1,103 @@
+package org.example.ordersservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.exception.IdempotencyKeyReusedException;
+import org.example.ordersservice.exception.IdempotentRequestInProgressException;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.service.IdempotencyService;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * This class implements the IdempotencyService interface with a bounded in-memory store.
+ *
+ * <p>Each key maps to the request it was first used with and a future of its result, so duplicates that arrive
+ * while the first request is running wait for the same future instead of creating another order. Completed
+ * results are kept for the configured TTL; failed requests are removed at once, so a retry runs again.
+ * The store is local to the instance: duplicates that a load balancer routes to another instance are not detected.
+ *
+ * <p>Requests are compared with their prices stripped of trailing zeros, so a retry that sends {@code 10.0} where the
+ * first request sent {@code 10.00} counts as the same request.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyServiceImpl(OrdersProperties ordersProperties) {
+        OrdersProperties.Idempotency idempotency = ordersProperties.getIdempotency();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(idempotency.getMaxKeys())
+                .expireAfterWrite(idempotency.getTtl())
+                .build();
+        this.waitTimeout = idempotency.getWaitTimeout();
+    }
+
+    @Override
+    public OrderResponseDto createOnce(String idempotencyKey, OrderRequestDto request, Supplier<OrderResponseDto> create) {
+        OrderRequestDto canonical = canonical(request);
+        Entry entry = new Entry(canonical, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(idempotencyKey, entry);
+        if (existing != null) {
+            if (!existing.request().equals(canonical)) {
+                throw new IdempotencyKeyReusedException("Idempotency key was already used with a different request");
+            }
+            return await(existing.result());
+        }
+
+        try {
+            OrderResponseDto response = create.get();
+            entry.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            entries.asMap().remove(idempotencyKey, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the request with every unit price in its shortest scale, since {@link BigDecimal#equals} tells
+     * {@code 10.0} and {@code 10.00} apart.
+     */
+    private static OrderRequestDto canonical(OrderRequestDto request) {
+        List<OrderDetailsDto> items = request.getItems() == null ? null : request.getItems().stream()
+                .map(item -> item == null || item.getUnitPrice() == null ? item : new OrderDetailsDto(
+                        item.getArticleId(), item.getProductName(), item.getQuantity(),
+                        item.getUnitPrice().stripTrailingZeros()))
+                .toList();
+        return new OrderRequestDto(items, request.getRecipient(), request.getDeliveryAddress(),
+                request.getPaymentType(), request.getDeliveryType());
+    }
+
+    private OrderResponseDto await(CompletableFuture<OrderResponseDto> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException("A request with this idempotency key is still in progress");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an idempotent request", e);
+        }
+    }
+
+    private record Entry(OrderRequestDto request, CompletableFuture<OrderResponseDto> result) {
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.model.entity.OutboxEvent;
+import org.example.ordersservice.service.OutboxEventSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class keeps delivered outbox events in memory. Meant for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxEventSink implements OutboxEventSink {
+    private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        events.addAll(batch);
+    }
+
+    /**
+     * Returns all events delivered so far, in delivery order.
+     */
+    public List<OutboxEvent> getEvents() {
+        return List.copyOf(events);
+    }
+}
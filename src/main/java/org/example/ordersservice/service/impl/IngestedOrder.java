@@ -0,0 +1,15 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.model.dto.OrderRequestDto;
+
+import java.time.LocalDate;
+
+/**
+ * An order accepted for asynchronous creation, as it is queued and journaled.
+ *
+ * @param orderNumber The order number assigned on acceptance.
+ * @param orderDate   The order date assigned on acceptance.
+ * @param request     The order request data.
+ */
+public record IngestedOrder(String orderNumber, LocalDate orderDate, OrderRequestDto request) {
+}
@@ -0,0 +1,60 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.exception.InvalidCursorException;
+import org.example.ordersservice.model.entity.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position after the last order of a page, ordered by {@code (orderDate, id)}.
+ *
+ * <p>Clients receive it as an opaque, URL-safe token and pass it back unchanged to get the next page.
+ *
+ * @param orderDate The order date of the last order returned.
+ * @param id        The identifier of the last order returned.
+ */
+record OrderCursor(LocalDate orderDate, long id) {
+
+    /**
+     * Returns the position before the first order placed on or after the given date.
+     */
+    static OrderCursor start(LocalDate date) {
+        return new OrderCursor(date, 0L);
+    }
+
+    /**
+     * Returns the position right after the given order.
+     */
+    static OrderCursor after(Order order) {
+        return new OrderCursor(order.getOrderDate(), order.getId());
+    }
+
+    /**
+     * Decodes a continuation token, or returns the start position for the given date if there is none.
+     *
+     * @throws InvalidCursorException If the token is malformed.
+     */
+    static OrderCursor decode(String token, LocalDate startDate) {
+        if (token == null || token.isBlank()) {
+            return start(startDate);
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new OrderCursor(LocalDate.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Encodes this position as an opaque continuation token.
+     */
+    String encode() {
+        String value = orderDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.model.dto.ExportStatusDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * One bulk export and its checkpoint on disk.
+ *
+ * <p>The export directory holds {@code export.properties}, describing the date range and how its order identifiers
+ * are split into chunks, and {@code chunks.done}, with one line per chunk whose files have been written. A line is
+ * written only after both files of its chunk have been forced to disk and moved into place, and is forced to disk
+ * itself, so after a crash every listed chunk is complete and every other chunk is exported again. {@code _SUCCESS} marks an export whose chunks are all done.
+ */
+class OrderExport {
+    static final String MANIFEST = "export.properties";
+    private static final String CHECKPOINT = "chunks.done";
+    private static final String SUCCESS = "_SUCCESS";
+
+    private final String id;
+    private final Path directory;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long firstId;
+    private final long chunkSize;
+    private final int totalChunks;
+    private final BitSet done = new BitSet();
+    private CompletableFuture<ExportStatusDto> completion = new CompletableFuture<>();
+    private long ordersWritten;
+    private long itemsWritten;
+    private ExportStatusDto.State state = ExportStatusDto.State.RUNNING;
+    private FileChannel checkpoint;
+
+    private OrderExport(String id, Path directory, LocalDate startDate, LocalDate endDate, long firstId,
+                        long chunkSize, int totalChunks) {
+        this.id = id;
+        this.directory = directory;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.firstId = firstId;
+        this.chunkSize = chunkSize;
+        this.totalChunks = totalChunks;
+    }
+
+    /**
+     * Creates the directory and manifest of a new export of the order identifiers {@code minId} to {@code maxId}.
+     */
+    static OrderExport create(Path directory, LocalDate startDate, LocalDate endDate, long minId, long maxId,
+                              long chunkSize) throws IOException {
+        int totalChunks = maxId < minId ? 0 : Math.toIntExact((maxId - minId) / chunkSize + 1);
+        OrderExport export = new OrderExport(directory.getFileName().toString(), directory, startDate, endDate,
+                minId, chunkSize, totalChunks);
+
+        Files.createDirectories(directory);
+        Properties manifest = new Properties();
+        manifest.setProperty("startDate", startDate.toString());
+        manifest.setProperty("endDate", endDate.toString());
+        manifest.setProperty("firstId", Long.toString(minId));
+        manifest.setProperty("chunkSize", Long.toString(chunkSize));
+        manifest.setProperty("totalChunks", Integer.toString(totalChunks));
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(MANIFEST))) {
+            manifest.store(writer, "Order export");
+        }
+        export.openCheckpoint();
+        return export;
+    }
+
+    /**
+     * Reads an export and the chunks already done from its directory. The export is not running.
+     */
+    static OrderExport load(Path directory) throws IOException {
+        Properties manifest = new Properties();
+        try (Reader reader = Files.newBufferedReader(directory.resolve(MANIFEST))) {
+            manifest.load(reader);
+        }
+        OrderExport export = new OrderExport(directory.getFileName().toString(), directory,
+                LocalDate.parse(manifest.getProperty("startDate")),
+                LocalDate.parse(manifest.getProperty("endDate")),
+                Long.parseLong(manifest.getProperty("firstId")),
+                Long.parseLong(manifest.getProperty("chunkSize")),
+                Integer.parseInt(manifest.getProperty("totalChunks")));
+
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpoint)) {
+            for (String line : Files.readAllLines(checkpoint, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(" ");
+                // a line cut short by a crash has fewer fields; its chunk is exported again
+                if (fields.length == 3) {
+                    export.done.set(Integer.parseInt(fields[0]));
+                    export.ordersWritten += Long.parseLong(fields[1]);
+                    export.itemsWritten += Long.parseLong(fields[2]);
+                }
+            }
+        }
+        // an unfinished export found on disk is not running; it failed or was interrupted
+        export.state = Files.exists(directory.resolve(SUCCESS))
+                ? ExportStatusDto.State.COMPLETED : ExportStatusDto.State.FAILED;
+        export.completion.complete(export.toStatusDto());
+        return export;
+    }
+
+    String id() {
+        return id;
+    }
+
+    LocalDate startDate() {
+        return startDate;
+    }
+
+    LocalDate endDate() {
+        return endDate;
+    }
+
+    /**
+     * Returns the first order identifier of a chunk.
+     */
+    long fromId(int chunk) {
+        return firstId + chunk * chunkSize;
+    }
+
+    /**
+     * Returns the order identifier right after the last one of a chunk.
+     */
+    long toId(int chunk) {
+        return fromId(chunk) + chunkSize;
+    }
+
+    Path ordersFile(int chunk) {
+        return directory.resolve(String.format("orders-%05d.csv.gz", chunk));
+    }
+
+    Path itemsFile(int chunk) {
+        return directory.resolve(String.format("order_details-%05d.csv.gz", chunk));
+    }
+
+    synchronized List<Integer> pendingChunks() {
+        return IntStream.range(0, totalChunks).filter(chunk -> !done.get(chunk)).boxed().toList();
+    }
+
+    synchronized ExportStatusDto.State state() {
+        return state;
+    }
+
+    synchronized CompletableFuture<ExportStatusDto> completion() {
+        return completion;
+    }
+
+    /**
+     * Reopens the checkpoint of a loaded export that did not complete, before its pending chunks are exported.
+     */
+    synchronized void resume() throws IOException {
+        openCheckpoint();
+        state = ExportStatusDto.State.RUNNING;
+        completion = new CompletableFuture<>();
+    }
+
+    /**
+     * Records a chunk whose files are in place and forces the record to disk.
+     */
+    synchronized void chunkDone(int chunk, long orders, long items) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((chunk + " " + orders + " " + items + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            checkpoint.write(line);
+        }
+        checkpoint.force(false);
+        done.set(chunk);
+        ordersWritten += orders;
+        itemsWritten += items;
+    }
+
+    /**
+     * Marks the export as completed, or as failed if a chunk was not done, and releases the checkpoint.
+     */
+    synchronized void finish() throws IOException {
+        state = ExportStatusDto.State.FAILED;
+        try {
+            checkpoint.close();
+            if (done.cardinality() == totalChunks) {
+                Files.write(directory.resolve(SUCCESS), new byte[0]);
+                state = ExportStatusDto.State.COMPLETED;
+            }
+        } finally {
+            completion.complete(toStatusDto());
+        }
+    }
+
+    synchronized ExportStatusDto toStatusDto() {
+        return new ExportStatusDto(id, startDate, endDate, state, totalChunks, done.cardinality(),
+                ordersWritten, itemsWritten, directory.toAbsolutePath().toString());
+    }
+
+    private void openCheckpoint() throws IOException {
+        checkpoint = FileChannel.open(directory.resolve(CHECKPOINT),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
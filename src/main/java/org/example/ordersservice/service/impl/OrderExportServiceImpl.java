@@ -0,0 +1,286 @@
+package org.example.ordersservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.exception.ExportNotFoundException;
+import org.example.ordersservice.model.dto.ExportStatusDto;
+import org.example.ordersservice.service.OrderExportService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * This class implements the OrderExportService interface by writing gzip-compressed CSV files.
+ *
+ * <p>An export splits the order identifiers of its date range into fixed-width chunks. A shared pool of worker
+ * threads exports the chunks in parallel, each through streaming cursors in a read-only transaction, so the rows
+ * are never held in memory and the reads go to a read replica when one is configured. Each chunk becomes one file
+ * of orders and one file of their items; once both are in place the chunk is recorded in the checkpoint of the
+ * export, from which a failed or interrupted export is resumed.
+ */
+@Slf4j
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+    private static final String[] ORDER_COLUMNS = {"id", "order_number", "order_date", "total_amount", "recipient",
+            "delivery_address", "payment_type", "delivery_type"};
+    private static final String[] ITEM_COLUMNS = {"order_id", "id", "order_date", "article_id", "product_name",
+            "quantity", "unit_price"};
+    private static final String ORDERS_SQL = "SELECT " + String.join(", ", ORDER_COLUMNS) + " FROM orders " +
+            "WHERE id >= ? AND id < ? AND order_date BETWEEN ? AND ? ORDER BY id";
+    private static final String ITEMS_SQL = "SELECT " + String.join(", ", ITEM_COLUMNS) + " FROM order_details " +
+            "WHERE order_id >= ? AND order_id < ? AND order_date BETWEEN ? AND ? ORDER BY order_id, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final OrdersProperties.Export properties;
+    private final Path directory;
+    private final ExecutorService workers;
+    private final Map<String, OrderExport> exports = new ConcurrentHashMap<>();
+    private final Counter ordersExported;
+    private final Counter itemsExported;
+
+    public OrderExportServiceImpl(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  OrdersProperties ordersProperties,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = ordersProperties.getExport();
+        this.directory = Paths.get(properties.getDirectory());
+        // orders and items of a chunk come from one snapshot, so every exported item has its order in the export
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(), runnable -> {
+            Thread thread = new Thread(runnable, "order-export-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ordersExported = Counter.builder("orders.export.rows")
+                .tag("table", "orders")
+                .description("Rows written to export files")
+                .register(meterRegistry);
+        this.itemsExported = Counter.builder("orders.export.rows")
+                .tag("table", "order_details")
+                .description("Rows written to export files")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resumes the exports a previous run left unfinished, if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        if (!properties.isResumeOnStartup() || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> children = Files.list(directory)) {
+            for (Path child : children.filter(child -> Files.exists(child.resolve(OrderExport.MANIFEST))).toList()) {
+                ExportStatusDto status = resumeExport(child.getFileName().toString());
+                if (status.getState() == ExportStatusDto.State.RUNNING) {
+                    log.info("Resumed export {} at chunk {} of {}",
+                            status.getId(), status.getCompletedChunks(), status.getTotalChunks());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to resume unfinished exports in {}", directory, e);
+        }
+    }
+
+    /**
+     * Interrupts the running chunks. Their partial files are discarded, and they are exported again on resume.
+     */
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public ExportStatusDto startExport(LocalDate startDate, LocalDate endDate) {
+        long[] idRange = jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM orders WHERE order_date BETWEEN ? AND ?",
+                resultSet -> {
+                    resultSet.next();
+                    long minId = resultSet.getLong(1);
+                    return resultSet.wasNull() ? new long[]{0, -1} : new long[]{minId, resultSet.getLong(2)};
+                }, startDate, endDate);
+
+        OrderExport export;
+        try {
+            export = OrderExport.create(directory.resolve(UUID.randomUUID().toString()), startDate, endDate,
+                    idRange[0], idRange[1], properties.getChunkSize());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create export", e);
+        }
+        exports.put(export.id(), export);
+        log.info("Exporting orders from {} to {} as {}", startDate, endDate, export.id());
+        run(export);
+        return export.toStatusDto();
+    }
+
+    @Override
+    public synchronized ExportStatusDto resumeExport(String exportId) {
+        OrderExport running = exports.get(exportId);
+        if (running != null && running.state() == ExportStatusDto.State.RUNNING) {
+            return running.toStatusDto();
+        }
+        OrderExport export = load(exportId);
+        if (export.state() == ExportStatusDto.State.COMPLETED) {
+            return export.toStatusDto();
+        }
+        try {
+            export.resume();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resume export " + exportId, e);
+        }
+        exports.put(exportId, export);
+        run(export);
+        return export.toStatusDto();
+    }
+
+    @Override
+    public ExportStatusDto getExportStatus(String exportId) {
+        OrderExport export = exports.get(exportId);
+        return export != null ? export.toStatusDto() : load(exportId).toStatusDto();
+    }
+
+    @Override
+    public ExportStatusDto awaitExport(String exportId, Duration timeout) {
+        OrderExport export = exports.get(exportId);
+        if (export == null) {
+            return getExportStatus(exportId);
+        }
+        try {
+            return export.completion().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // the current progress is returned instead
+        }
+        return export.toStatusDto();
+    }
+
+    /**
+     * Exports the pending chunks of an export on the worker threads and finishes the export once all have ended.
+     */
+    private void run(OrderExport export) {
+        List<CompletableFuture<Void>> chunks = export.pendingChunks().stream()
+                .map(chunk -> CompletableFuture.runAsync(() -> exportChunk(export, chunk), workers))
+                .toList();
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                log.warn("Export {} failed; resume it to export the remaining chunks", export.id(), failure);
+            }
+            try {
+                export.finish();
+            } catch (IOException e) {
+                log.warn("Failed to finish export {}", export.id(), e);
+            }
+            ExportStatusDto status = export.toStatusDto();
+            log.info("Export {} {} with {} orders and {} items", status.getId(), status.getState(),
+                    status.getOrdersWritten(), status.getItemsWritten());
+        });
+    }
+
+    /**
+     * Writes the orders and items of one chunk to their files and records the chunk in the checkpoint.
+     */
+    private void exportChunk(OrderExport export, int chunk) {
+        snapshotTransaction.executeWithoutResult(status -> {
+            try (GzipCsvWriter orders = new GzipCsvWriter(export.ordersFile(chunk), ORDER_COLUMNS);
+                 GzipCsvWriter items = new GzipCsvWriter(export.itemsFile(chunk), ITEM_COLUMNS)) {
+                long orderRows = copy(ORDERS_SQL, export, chunk, orders);
+                long itemRows = copy(ITEMS_SQL, export, chunk, items);
+                orders.commit();
+                items.commit();
+                export.chunkDone(chunk, orderRows, itemRows);
+                ordersExported.increment(orderRows);
+                itemsExported.increment(itemRows);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to export chunk " + chunk + " of " + export.id(), e);
+            }
+        });
+    }
+
+    /**
+     * Streams the rows of one chunk into a file, fetching {@code fetch-size} rows at a time.
+     *
+     * @return The number of rows written.
+     */
+    private long copy(String sql, OrderExport export, int chunk, GzipCsvWriter writer) {
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(properties.getFetchSize());
+            statement.setLong(1, export.fromId(chunk));
+            statement.setLong(2, export.toId(chunk));
+            statement.setObject(3, export.startDate());
+            statement.setObject(4, export.endDate());
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            Object[] row = new Object[resultSet.getMetaData().getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = resultSet.getObject(i + 1);
+            }
+            try {
+                writer.writeRow(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    /**
+     * Loads an export from disk, accepting only identifiers this service generates so no other path is read.
+     */
+    private OrderExport load(String exportId) {
+        if (!isExportId(exportId) || !Files.exists(directory.resolve(exportId).resolve(OrderExport.MANIFEST))) {
+            throw new ExportNotFoundException("Export " + exportId + " not found");
+        }
+        Path exportDirectory = directory.resolve(exportId);
+        try {
+            return OrderExport.load(exportDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read export " + exportId, e);
+        }
+    }
+
+    private static boolean isExportId(String exportId) {
+        try {
+            return UUID.fromString(exportId).toString().equals(exportId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
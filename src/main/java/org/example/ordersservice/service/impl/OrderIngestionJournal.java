@@ -0,0 +1,215 @@
+package org.example.ordersservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only file of the orders accepted for asynchronous creation, one JSON document per line.
+ *
+ * <p>An accepted order is forced to disk before its request is answered. Concurrent appends share one
+ * {@code force}: a caller whose line was already covered by another caller's force returns without forcing again.
+ * Stored orders are marked with a line that is not forced, since replaying an order that was already stored is
+ * detected by its order number. Once no order is outstanding the file is truncated. While orders stay outstanding
+ * under sustained load, the file is compacted to the outstanding orders whenever it has grown past the compaction
+ * size and to twice its size after the previous compaction, so it stays bounded by the orders not yet stored.
+ */
+@Slf4j
+public class OrderIngestionJournal implements AutoCloseable {
+    private static final String PERSISTED = "persisted";
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final long compactionSize;
+    private final Object forceLock = new Object();
+    private FileChannel channel;
+    private long outstanding;
+    private long written;
+    private long forced;
+    private long size;
+    private long compactedSize;
+
+    public OrderIngestionJournal(Path file, ObjectMapper objectMapper, long compactionSize) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.compactionSize = compactionSize;
+    }
+
+    /**
+     * Opens the journal, creating it if needed, and returns the orders it holds that were never marked as stored.
+     * The file is rewritten to hold just those orders.
+     *
+     * @return The outstanding orders in the order they were accepted.
+     */
+    public synchronized List<IngestedOrder> open() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Map<String, IngestedOrder> pending = rewrite();
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * Appends an accepted order and returns once it is on disk.
+     */
+    public void append(IngestedOrder order) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        writeLine(line, order);
+        long position;
+        synchronized (this) {
+            write(line.toByteArray());
+            outstanding++;
+            position = ++written;
+        }
+
+        synchronized (forceLock) {
+            if (forced < position) {
+                long target;
+                FileChannel current;
+                synchronized (this) {
+                    target = written;
+                    current = channel;
+                }
+                try {
+                    current.force(false);
+                } catch (ClosedChannelException e) {
+                    synchronized (this) {
+                        if (channel == current) {
+                            throw e;
+                        }
+                    }
+                    // a compaction replaced the file and forced the rewrite, which holds the lines up to target
+                }
+                forced = target;
+            }
+        }
+    }
+
+    /**
+     * Marks orders as stored, so they are not replayed.
+     */
+    public synchronized void markPersisted(Collection<String> orderNumbers) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (String orderNumber : orderNumbers) {
+            lines.write(objectMapper.writeValueAsBytes(objectMapper.createObjectNode().put(PERSISTED, orderNumber)));
+            lines.write('\n');
+        }
+        outstanding -= orderNumbers.size();
+        if (outstanding <= 0) {
+            outstanding = 0;
+            channel.truncate(0);
+            size = 0;
+            compactedSize = 0;
+        } else {
+            write(lines.toByteArray());
+            if (size >= compactionSize && size >= 2 * compactedSize) {
+                rewrite();
+            }
+        }
+    }
+
+    /**
+     * Returns the current size of the journal file in bytes.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Replaces the file by one holding just the outstanding orders, forced to disk, and appends to it from then on.
+     *
+     * @return The outstanding orders in the order they were accepted.
+     */
+    private Map<String, IngestedOrder> rewrite() throws IOException {
+        Map<String, IngestedOrder> pending = read();
+
+        Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (IngestedOrder order : pending.values()) {
+            writeLine(lines, order);
+        }
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        outstanding = pending.size();
+        size = lines.size();
+        compactedSize = size;
+        return pending;
+    }
+
+    /**
+     * Reads the orders accepted and not marked as stored. A damaged last line, left by a crash while appending, is
+     * skipped; its order was never acknowledged.
+     */
+    private Map<String, IngestedOrder> read() throws IOException {
+        Map<String, IngestedOrder> pending = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return pending;
+        }
+        for (String line : new String(Files.readAllBytes(file), StandardCharsets.UTF_8).split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (node.has(PERSISTED)) {
+                    pending.remove(node.get(PERSISTED).asText());
+                } else {
+                    IngestedOrder order = objectMapper.treeToValue(node, IngestedOrder.class);
+                    pending.put(order.orderNumber(), order);
+                }
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping damaged line of ingestion journal {}", file);
+            }
+        }
+        return pending;
+    }
+
+    private void writeLine(ByteArrayOutputStream out, IngestedOrder order) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(order));
+        out.write('\n');
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        size += bytes.length;
+    }
+}
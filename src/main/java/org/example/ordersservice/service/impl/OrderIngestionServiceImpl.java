@@ -0,0 +1,386 @@
+package org.example.ordersservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.exception.IngestionQueueFullException;
+import org.example.ordersservice.exception.InvalidOrderException;
+import org.example.ordersservice.exception.OrderNotFoundException;
+import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderStatusDto;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.OrderIngestionService;
+import org.example.ordersservice.service.OrderNumberService;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements the OrderIngestionService interface with a bounded in-memory queue backed by a journal
+ * and a pool of writer threads.
+ *
+ * <p>An accepted order takes one permit of the queue capacity, is appended to the {@link OrderIngestionJournal}
+ * and queued. Writers take up to a batch of queued orders at a time and store them through
+ * {@link OrderWriter#saveAll}, so the rollup, outbox and index are updated as for synchronously created orders.
+ * The permit is released once the order is stored, so the capacity bounds the orders queued and being written
+ * together. A batch that fails because the database is unavailable is retried until it is stored or the service
+ * stops. A batch that fails for any other reason is stored one order at a time, so a single order that can never be
+ * stored does not hold back the others; an order that still fails after the configured attempts is appended to the
+ * dead-letter file and released. Status lookups no longer find a dead-lettered order.
+ *
+ * <p>On start the orders left in the journal by the previous run are queued again. Replayed orders, and orders of
+ * a batch whose first attempt failed, are skipped if an order with their number is already stored. The queue and
+ * journal are local to the instance; status lookups on another instance only see the order once it is stored.
+ */
+@Slf4j
+@Service
+public class OrderIngestionServiceImpl implements OrderIngestionService {
+    private static final long POLL_MILLIS = 100;
+
+    private final OrderNumberService orderNumberService;
+    private final OrderMapper orderMapper;
+    private final OrderWriter orderWriter;
+    private final OrderRepository orderRepository;
+    private final OrdersProperties.Ingestion ingestion;
+    private final OrderIngestionJournal journal;
+    private final Path deadLetterFile;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<IngestedOrder> queue = new LinkedBlockingQueue<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final Set<String> replayed = ConcurrentHashMap.newKeySet();
+    private final List<Thread> writers = new ArrayList<>();
+    private final Counter rejected;
+    private final Counter writeFailures;
+    private final Counter deadLettered;
+    private final Timer batchTimer;
+    private final CountDownLatch stopSignal = new CountDownLatch(1);
+    private Semaphore capacity;
+    private volatile boolean running;
+
+    public OrderIngestionServiceImpl(OrderNumberService orderNumberService,
+                                     OrderMapper orderMapper,
+                                     OrderWriter orderWriter,
+                                     OrderRepository orderRepository,
+                                     OrdersProperties ordersProperties,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.orderNumberService = orderNumberService;
+        this.orderMapper = orderMapper;
+        this.orderWriter = orderWriter;
+        this.orderRepository = orderRepository;
+        this.ingestion = ordersProperties.getIngestion();
+        if (ingestion.getQueueCapacity() <= 0 || ingestion.getWriters() <= 0 || ingestion.getBatchSize() <= 0
+                || ingestion.getMaxAttempts() <= 0) {
+            throw new IllegalArgumentException("Order ingestion requires positive queue-capacity, writers, batch-size and max-attempts");
+        }
+        this.journal = new OrderIngestionJournal(Path.of(ingestion.getJournal()), objectMapper,
+                ingestion.getJournalCompactionSize().toBytes());
+        this.deadLetterFile = Path.of(ingestion.getDeadLetterFile());
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        this.rejected = Counter.builder("orders.ingestion.rejected")
+                .description("Orders rejected because the ingestion queue stayed full")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("orders.ingestion.write.failures")
+                .description("Attempts to store a batch of queued orders that failed and will be retried")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("orders.ingestion.dead.lettered")
+                .description("Queued orders that could not be stored and were moved to the dead-letter file")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("orders.ingestion.batch")
+                .description("Time taken to store one batch of queued orders")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replays the journal and starts the writers, if asynchronous creation is enabled.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!ingestion.isEnabled()) {
+            return;
+        }
+        List<IngestedOrder> pending = journal.open();
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} orders from the ingestion journal", pending.size());
+        }
+        // replayed orders may exceed the capacity; new orders are rejected until the backlog is below it
+        capacity = new Semaphore(ingestion.getQueueCapacity() - pending.size());
+        for (IngestedOrder order : pending) {
+            replayed.add(order.orderNumber());
+            queued.add(order.orderNumber());
+            queue.add(order);
+        }
+
+        Gauge.builder("orders.ingestion.queue.depth", queued, Set::size)
+                .description("Accepted orders not yet stored")
+                .register(meterRegistry);
+        Gauge.builder("orders.ingestion.queue.remaining", this, service -> service.capacity.availablePermits())
+                .description("Orders that can still be accepted before requests are rejected")
+                .register(meterRegistry);
+        Gauge.builder("orders.ingestion.journal.size", journal, OrderIngestionJournal::size)
+                .description("Size of the ingestion journal in bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        running = true;
+        for (int i = 0; i < ingestion.getWriters(); i++) {
+            Thread writer = new Thread(this::drain, "order-ingestion-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Stops the writers after their current batch. Orders still queued stay in the journal for the next start.
+     */
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        stopSignal.countDown();
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        journal.close();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ingestion.isEnabled();
+    }
+
+    @Override
+    public OrderStatusDto accept(OrderRequestDto request) {
+        if (!running) {
+            throw new IllegalStateException("Asynchronous order creation is not running");
+        }
+        String error = OrderServiceImpl.validate(request);
+        if (error != null) {
+            throw new InvalidOrderException(error);
+        }
+        acquirePermit();
+
+        try {
+            IngestedOrder order = new IngestedOrder(orderNumberService.nextOrderNumber(), LocalDate.now(), request);
+            journal.append(order);
+            queued.add(order.orderNumber());
+            queue.add(order);
+            return new OrderStatusDto(order.orderNumber(), OrderStatusDto.Status.QUEUED, null);
+        } catch (IOException e) {
+            capacity.release();
+            throw new UncheckedIOException("Failed to journal order", e);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs in a read-write transaction so that it reads the primary database, where an order shows up as persisted
+     * as soon as its batch has been written.
+     */
+    @Override
+    @Transactional
+    public OrderStatusDto getStatus(String orderNumber) {
+        if (queued.contains(orderNumber)) {
+            return new OrderStatusDto(orderNumber, OrderStatusDto.Status.QUEUED, null);
+        }
+        return orderRepository.findIdByOrderNumber(orderNumber)
+                .map(id -> new OrderStatusDto(orderNumber, OrderStatusDto.Status.PERSISTED, id))
+                .orElseThrow(() -> new OrderNotFoundException("Order " + orderNumber + " not found"));
+    }
+
+    private void acquirePermit() {
+        boolean acquired;
+        try {
+            acquired = capacity.tryAcquire(ingestion.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for room in the ingestion queue", e);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new IngestionQueueFullException("Ingestion queue is full");
+        }
+    }
+
+    /**
+     * Takes batches off the queue and stores them until the service stops.
+     */
+    private void drain() {
+        List<IngestedOrder> batch = new ArrayList<>(ingestion.getBatchSize());
+        while (running) {
+            try {
+                IngestedOrder first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, ingestion.getBatchSize() - 1);
+                store(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order ingestion writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stores one batch, retrying until it succeeds or the service stops. A batch that fails for a reason other than
+     * an unavailable database is stored one order at a time instead.
+     */
+    private void store(List<IngestedOrder> batch) throws InterruptedException {
+        store(batch, batch.stream().anyMatch(order -> replayed.contains(order.orderNumber())));
+    }
+
+    private void store(List<IngestedOrder> batch, boolean checkStored) throws InterruptedException {
+        int attempts = 0;
+        while (true) {
+            Timer.Sample sample = Timer.start();
+            try {
+                List<Order> orders = toOrders(batch, checkStored);
+                if (!orders.isEmpty()) {
+                    orderWriter.saveAll(orders);
+                }
+                sample.stop(batchTimer);
+                break;
+            } catch (RuntimeException e) {
+                writeFailures.increment();
+                // the failed attempt may have committed before failing
+                checkStored = true;
+                if (!isTransient(e)) {
+                    if (batch.size() > 1) {
+                        log.warn("Failed to store {} queued orders, storing them one at a time", batch.size(), e);
+                        for (IngestedOrder order : batch) {
+                            if (!running) {
+                                return;
+                            }
+                            store(List.of(order), true);
+                        }
+                        return;
+                    }
+                    if (++attempts >= ingestion.getMaxAttempts() && deadLetter(batch.get(0), e)) {
+                        break;
+                    }
+                }
+                log.warn("Failed to store {} queued orders", batch.size(), e);
+                if (!running || stopSignal.await(ingestion.getRetryBackoff().toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+
+        List<String> orderNumbers = batch.stream().map(IngestedOrder::orderNumber).toList();
+        try {
+            journal.markPersisted(orderNumbers);
+        } catch (IOException e) {
+            // a replay of these orders finds them stored and skips them
+            log.warn("Failed to mark stored orders in the ingestion journal", e);
+        }
+        orderNumbers.forEach(replayed::remove);
+        orderNumbers.forEach(queued::remove);
+        capacity.release(batch.size());
+    }
+
+    /**
+     * Returns whether a failure is caused by the database being unreachable or temporarily refusing the write,
+     * so the same orders can be expected to be stored later.
+     */
+    static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * Appends an order that could not be stored to the dead-letter file, together with the error.
+     *
+     * @return Whether the order is on disk in the dead-letter file.
+     */
+    private boolean deadLetter(IngestedOrder order, RuntimeException error) {
+        try {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            line.write(objectMapper.writeValueAsBytes(objectMapper.createObjectNode()
+                    .put("error", String.valueOf(error))
+                    .set("order", objectMapper.valueToTree(order))));
+            line.write('\n');
+            if (deadLetterFile.getParent() != null) {
+                Files.createDirectories(deadLetterFile.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(deadLetterFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(line.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            log.error("Failed to move order {} to the dead-letter file", order.orderNumber(), e);
+            return false;
+        }
+        deadLettered.increment();
+        log.error("Moved order {} to the dead-letter file {} after {} attempts",
+                order.orderNumber(), deadLetterFile, ingestion.getMaxAttempts(), error);
+        return true;
+    }
+
+    /**
+     * Builds the entities of a batch, leaving out orders already stored if asked to check.
+     */
+    private List<Order> toOrders(List<IngestedOrder> batch, boolean checkStored) {
+        Set<String> stored = checkStored
+                ? new HashSet<>(orderRepository.findExistingOrderNumbers(
+                        batch.stream().map(IngestedOrder::orderNumber).toList()))
+                : Set.of();
+        List<Order> orders = new ArrayList<>(batch.size());
+        for (IngestedOrder ingested : batch) {
+            if (stored.contains(ingested.orderNumber())) {
+                continue;
+            }
+            Order order = OrderServiceImpl.mapOrder(orderMapper, ingested.request(), ingested.orderNumber(),
+                    ingested.orderDate());
+            order.setTotalAmount(OrderServiceImpl.totalAmount(order));
+            orders.add(order);
+        }
+        return orders;
+    }
+}
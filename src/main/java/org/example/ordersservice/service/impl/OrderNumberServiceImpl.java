@@ -0,0 +1,269 @@
+package org.example.ordersservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ordersservice.client.NumberGenerateClient;
+import org.example.ordersservice.config.NumberGenerateServiceProperties;
+import org.example.ordersservice.exception.NumberGenerateServiceUnavailableException;
+import org.example.ordersservice.service.OrderNumberService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class implements the OrderNumberService interface with a bounded pool of pre-fetched order numbers.
+ *
+ * <p>Numbers are fetched from the number-generate-service in batches on a background thread whenever the pool
+ * drops to the low watermark, and topped up to the high watermark. Callers that find the pool empty wait up to
+ * the configured acquire timeout, which throttles order creation to the rate the number service can sustain;
+ * while the circuit breaker of the number service is open they fail at once instead. Asynchronous callers wait
+ * the same way, but without holding a thread: they are handed the next number the refill fetches.
+ * The numbers of a batch are requested concurrently on the non-blocking client, at most {@code max-in-flight} at
+ * a time, so a refill holds no thread per request in flight and leaves most of the client's bulkhead free for
+ * calls made while the pool is disabled or being refilled.
+ *
+ * <p>The pool lives in memory only. Numbers still pooled at shutdown are dropped rather than persisted, and the
+ * number-generate-service never issues a number twice, so a restart can never hand out a cached number again.
+ */
+@Slf4j
+@Service
+public class OrderNumberServiceImpl implements OrderNumberService {
+    private final NumberGenerateClient numberGenerateClient;
+    private final NumberGenerateServiceProperties.Pool pool;
+    private final BlockingQueue<String> numbers;
+    private final Queue<CompletableFuture<String>> waiters = new ConcurrentLinkedQueue<>();
+    private final Semaphore refillPermits;
+    private final ExecutorService refillExecutor;
+    private final AtomicBoolean refillInProgress = new AtomicBoolean();
+    private final Timer refillTimer;
+    private final Counter refillFailures;
+    private final Counter exhausted;
+
+    public OrderNumberServiceImpl(NumberGenerateClient numberGenerateClient,
+                                  NumberGenerateServiceProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.numberGenerateClient = numberGenerateClient;
+        this.pool = properties.getPool();
+        if (pool.getLowWatermark() < 0 || pool.getLowWatermark() >= pool.getHighWatermark() || pool.getBatchSize() <= 0) {
+            throw new IllegalArgumentException("Order number pool requires 0 <= low-watermark < high-watermark and batch-size > 0");
+        }
+        if (pool.getMaxInFlight() <= 0 || pool.getMaxInFlight() > properties.getResilience().getMaxConcurrentCalls() / 2) {
+            throw new IllegalArgumentException("Order number pool requires 0 < max-in-flight <= max-concurrent-calls / 2");
+        }
+        this.refillPermits = new Semaphore(pool.getMaxInFlight());
+        this.numbers = new ArrayBlockingQueue<>(pool.getHighWatermark());
+        this.refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-number-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("orders.number.pool.size", numbers, BlockingQueue::size)
+                .description("Order numbers currently available in the local pool")
+                .register(meterRegistry);
+        this.refillTimer = Timer.builder("orders.number.pool.refill")
+                .description("Time taken to fetch one batch of order numbers")
+                .register(meterRegistry);
+        this.refillFailures = Counter.builder("orders.number.pool.refill.failures")
+                .description("Refill rounds aborted because the number-generate-service failed")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("orders.number.pool.exhausted")
+                .description("Requests that found the pool empty and had to wait for a refill")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts filling the pool in the background so the first orders do not wait for the number service.
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (pool.isEnabled()) {
+            triggerRefill();
+        }
+    }
+
+    /**
+     * Stops the refill thread. Pooled numbers are discarded and never reused.
+     */
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+        numbers.clear();
+        CompletableFuture<String> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiter.completeExceptionally(new NumberGenerateServiceUnavailableException("Order number pool was shut down"));
+        }
+    }
+
+    /**
+     * Takes the next order number from the pool, waiting for a refill if the pool is empty.
+     *
+     * @return The order number.
+     * @throws NumberGenerateServiceUnavailableException If the pool is empty and the number service circuit is open,
+     *                                                   or no order number becomes available within the acquire timeout.
+     */
+    @Override
+    public String nextOrderNumber() {
+        if (!pool.isEnabled()) {
+            return numberGenerateClient.fetchOrderNumber();
+        }
+
+        String number = numbers.poll();
+        if (number == null) {
+            exhausted.increment();
+            triggerRefill();
+            if (!numberGenerateClient.isAvailable()) {
+                throw new NumberGenerateServiceUnavailableException("Order number pool is empty and number-generate-service is unavailable");
+            }
+            number = awaitNumber();
+        }
+
+        if (numbers.size() <= pool.getLowWatermark()) {
+            triggerRefill();
+        }
+        return number;
+    }
+
+    /**
+     * Takes the next order number from the pool. If the pool is empty, a refill is started and the caller is
+     * handed the next number it fetches, without a thread waiting for it.
+     *
+     * @return A future completed with the order number, or failed with a
+     *         {@link NumberGenerateServiceUnavailableException} if the pool is empty and the number service circuit
+     *         is open, or no order number becomes available within the acquire timeout. It may complete on a
+     *         thread of the number-generate-service client, which must not be blocked.
+     */
+    @Override
+    public CompletableFuture<String> nextOrderNumberAsync() {
+        if (!pool.isEnabled()) {
+            return numberGenerateClient.fetchOrderNumberAsync();
+        }
+
+        String number = numbers.poll();
+        if (number == null) {
+            exhausted.increment();
+            triggerRefill();
+            if (!numberGenerateClient.isAvailable()) {
+                return CompletableFuture.failedFuture(new NumberGenerateServiceUnavailableException(
+                        "Order number pool is empty and number-generate-service is unavailable"));
+            }
+            return awaitNumberAsync();
+        }
+
+        if (numbers.size() <= pool.getLowWatermark()) {
+            triggerRefill();
+        }
+        return CompletableFuture.completedFuture(number);
+    }
+
+    private String awaitNumber() {
+        String number;
+        try {
+            number = numbers.poll(pool.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an order number", e);
+        }
+
+        if (number == null) {
+            throw new NumberGenerateServiceUnavailableException("Failed to get order number from number-generate-service");
+        }
+        return number;
+    }
+
+    private CompletableFuture<String> awaitNumberAsync() {
+        CompletableFuture<String> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        CompletableFuture.delayedExecutor(pool.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS).execute(() ->
+                waiter.completeExceptionally(new NumberGenerateServiceUnavailableException(
+                        "Failed to get order number from number-generate-service")));
+        waiter.whenComplete((number, failure) -> waiters.remove(waiter));
+
+        // a number pooled between the empty poll and the registration would otherwise wait for the next refill
+        String number = numbers.poll();
+        if (number != null && !waiter.complete(number)) {
+            deliver(number);
+        }
+        return waiter;
+    }
+
+    /**
+     * Hands a fetched number to the oldest caller still waiting for one, or puts it into the pool.
+     */
+    private void deliver(String number) {
+        CompletableFuture<String> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.complete(number)) {
+                return;
+            }
+        }
+        numbers.offer(number);
+    }
+
+    private void triggerRefill() {
+        if (refillInProgress.compareAndSet(false, true)) {
+            try {
+                refillExecutor.execute(this::refill);
+            } catch (RejectedExecutionException e) {
+                refillInProgress.set(false);
+            }
+        }
+    }
+
+    /**
+     * Tops the pool up to the high watermark, one batch at a time, with at most {@code max-in-flight} requests
+     * outstanding. Each number is handed to a waiting caller or pooled as soon as it arrives; the refill stops at
+     * the end of a batch in which a request failed.
+     */
+    private void refill() {
+        boolean failed = false;
+        try {
+            while (numbers.size() < pool.getHighWatermark() && !Thread.currentThread().isInterrupted()) {
+                int batch = Math.min(pool.getBatchSize(), pool.getHighWatermark() - numbers.size());
+                Timer.Sample sample = Timer.start();
+                List<CompletableFuture<Void>> fetches = new ArrayList<>(batch);
+                for (int i = 0; i < batch; i++) {
+                    refillPermits.acquire();
+                    CompletableFuture<Void> fetch = numberGenerateClient.fetchOrderNumberAsync()
+                            .thenAccept(this::deliver)
+                            .whenComplete((ignored, failure) -> refillPermits.release());
+                    fetches.add(fetch);
+                    if (fetch.isCompletedExceptionally()) {
+                        break;
+                    }
+                }
+                CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).join();
+                sample.stop(refillTimer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failed = true;
+            refillFailures.increment();
+            log.warn("Failed to refill order number pool", e);
+        } finally {
+            refillInProgress.set(false);
+        }
+
+        if (!failed && numbers.size() <= pool.getLowWatermark()) {
+            triggerRefill();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.ordersservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.event.OrdersArchivedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the {@code orders} and {@code order_details} tables on PostgreSQL.
+ *
+ * <p>Each run creates the partitions of the current month and the configured number of months ahead, so new
+ * orders never land in the default partitions. If archiving is configured, months older than the retention are
+ * detached from both tables and moved to the archive schema, where they can be queried, dumped or dropped; the
+ * daily sales rollup keeps their figures, but rebuilding it over an archived range resets them. The partitions of
+ * a month are created or archived together in one transaction. On other databases the job does nothing.
+ */
+@Slf4j
+@Component
+public class OrderPartitionMaintenance implements SchedulingConfigurer {
+    private static final Pattern ORDER_PARTITION = Pattern.compile("orders_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final List<String> TABLES = List.of("orders", "order_details");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrdersProperties.Partitioning properties;
+    private final TransactionTemplate transaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private Boolean postgres;
+
+    public OrderPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                     OrdersProperties ordersProperties,
+                                     PlatformTransactionManager transactionManager,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = ordersProperties.getPartitioning();
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.isEnabled()) {
+            registrar.addFixedDelayTask(this::maintain, properties.getMaintenanceInterval());
+        }
+    }
+
+    /**
+     * Creates missing partitions ahead of time and archives expired ones. Failures are logged and retried on the
+     * next run. After archiving, an {@link OrdersArchivedEvent} tells the in-memory indexes of this instance which
+     * days are gone, also when another instance moved them.
+     */
+    public void maintain() {
+        try {
+            if (!isPostgres()) {
+                return;
+            }
+            YearMonth current = YearMonth.now();
+            for (int ahead = 0; ahead <= properties.getMonthsAhead(); ahead++) {
+                createPartitions(current.plusMonths(ahead));
+            }
+            if (properties.getArchiveAfterMonths() > 0) {
+                YearMonth oldestKept = current.minusMonths(properties.getArchiveAfterMonths());
+                for (YearMonth month : attachedMonths()) {
+                    if (month.isBefore(oldestKept)) {
+                        archivePartitions(month);
+                    }
+                }
+                eventPublisher.publishEvent(new OrdersArchivedEvent(oldestKept.atDay(1)));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to maintain order partitions", e);
+        }
+    }
+
+    /**
+     * Creates the partitions of the given month in both tables unless they exist.
+     */
+    public void createPartitions(YearMonth month) {
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        transaction.executeWithoutResult(status -> {
+            for (String table : TABLES) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition(table, month) + " PARTITION OF " + table
+                        + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            }
+        });
+    }
+
+    /**
+     * Detaches the partitions of the given month and moves them to the archive schema. The items are detached first
+     * and lose their foreign key, which would otherwise prevent detaching the orders they reference.
+     */
+    public void archivePartitions(YearMonth month) {
+        String schema = properties.getArchiveSchema();
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            for (String table : List.of("order_details", "orders")) {
+                String partition = partition(table, month);
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+                List<String> foreignKeys = jdbcTemplate.queryForList(
+                        "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'",
+                        String.class, partition);
+                for (String foreignKey : foreignKeys) {
+                    jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT " + foreignKey);
+                }
+                jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + schema);
+            }
+        });
+        log.info("Archived order partitions of {} to schema {}", month, schema);
+    }
+
+    /**
+     * Returns the months that have an order partition attached.
+     */
+    private List<YearMonth> attachedMonths() {
+        List<String> partitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'orders'::regclass", String.class);
+        return partitions.stream()
+                .map(ORDER_PARTITION::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equals(product);
+        }
+        return postgres;
+    }
+
+    private static String partition(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+}
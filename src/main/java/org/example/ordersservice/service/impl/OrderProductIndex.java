@@ -0,0 +1,621 @@
+package org.example.ordersservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.OrderDetails;
+import org.example.ordersservice.model.event.OrdersArchivedEvent;
+import org.example.ordersservice.model.event.OrdersCreatedEvent;
+import org.example.ordersservice.repository.OrderRepository;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory secondary index of the orders by order date and by the products they contain, kept as compressed
+ * Roaring bitmaps of order identifiers.
+ *
+ * <p>"Orders between two dates without product X" becomes the union of the date bitmaps of the range minus the
+ * bitmap of product X, which costs time in the number of days and of bitmap containers instead of a correlated
+ * subquery per order.
+ *
+ * <p>The index is built once in the background after startup; until that has completed, {@link #isReady()} is
+ * false and callers query the database. Orders are only ever placed on the current day, or on the previous one
+ * when an order accepted before midnight is stored after it, so the index is complete for the days before
+ * yesterday. Those days are answered from the bitmaps alone, while yesterday and today are answered from the
+ * database, which includes the orders other instances created since the build. Each time a day is over, it is read
+ * from the database once and joins the days answered from the index, so after the first build the index only
+ * ever reads a day of orders at a time. Orders created by this instance are added once their transaction has
+ * committed. When one of them was placed on a day already complete in the index, as when orders are replayed from
+ * the ingestion journal after a long outage, that day is read from the database again with the next refresh, which
+ * also picks up the orders other instances stored for it late. Orders placed on such a day that only other
+ * instances store appear in the index with its next build after a restart. The days of partitions moved to the
+ * archive are dropped from the index once the partition maintenance reports them.
+ *
+ * <p>The product bitmaps also answer product name searches. The lower-case product names are kept with a map from
+ * each three-character sequence to the names containing it, so only the names containing the rarest sequence of
+ * the search term are ranked against it. The bitmaps of the matching products are merged by relevance, together
+ * with the orders of yesterday and today that match in the database.
+ */
+@Slf4j
+@Component
+public class OrderProductIndex implements SchedulingConfigurer {
+    private static final int RELEVANCE_RANKS = 4;
+
+    private final OrderRepository orderRepository;
+    private final OrdersProperties.ProductIndex properties;
+    private final TransactionTemplate rebuildTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private final NavigableSet<LocalDate> staleDays = new TreeSet<>();
+    private ProductBitmaps ordersByProduct = new ProductBitmaps();
+    private NavigableMap<LocalDate, Roaring64Bitmap> ordersByDate = new TreeMap<>();
+    private List<Order> createdDuringRebuild;
+    private LocalDate completeBefore = LocalDate.MIN;
+    private LocalDate archivedBefore = LocalDate.MIN;
+    private volatile boolean ready;
+
+    public OrderProductIndex(OrderRepository orderRepository,
+                             OrdersProperties ordersProperties,
+                             PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.properties = ordersProperties.getProductIndex();
+        // not read-only, so builds read the primary and never miss orders a lagging replica has not seen
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.isEnabled()) {
+            registrar.addFixedDelayTask(this::refresh, properties.getRefreshInterval());
+        }
+    }
+
+    /**
+     * Builds the index if it has not been built yet, and otherwise adds the days that are over since the last run
+     * and reads the days that received orders late again.
+     */
+    public void refresh() {
+        if (ready) {
+            catchUp(LocalDate.now());
+            reindexStaleDays();
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns whether the index is enabled and has been built.
+     */
+    public boolean isReady() {
+        return properties.isEnabled() && ready;
+    }
+
+    /**
+     * Finds the identifiers of the orders placed within the given date range that contain no item of the given
+     * product.
+     *
+     * @param productName The name of the product to exclude.
+     * @param startDate   The first day of the range.
+     * @param endDate     The last day of the range.
+     * @return The order identifiers in ascending order.
+     */
+    public long[] findOrderIdsWithoutProduct(String productName, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return new long[0];
+        }
+
+        Roaring64Bitmap result = new Roaring64Bitmap();
+        LocalDate openFrom;
+        lock.readLock().lock();
+        try {
+            openFrom = completeBefore;
+            if (startDate.isBefore(openFrom)) {
+                for (Roaring64Bitmap orders : ordersByDate.subMap(startDate, true, openFrom, false).headMap(endDate, true).values()) {
+                    result.or(orders);
+                }
+                Roaring64Bitmap ordersWithProduct = ordersByProduct.get(productName);
+                if (ordersWithProduct != null) {
+                    result.andNot(ordersWithProduct);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (!endDate.isBefore(openFrom)) {
+            LocalDate from = startDate.isAfter(openFrom) ? startDate : openFrom;
+            orderRepository.findIdsWithoutProductAndBetweenDates(productName, from, endDate).forEach(result::addLong);
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Finds the orders containing a product whose name contains the given term, best match first. An order ranks by
+     * its best matching product as given by {@link #relevance}, and orders of the same rank are newest first.
+     *
+     * @param term   The lower-case search term.
+     * @param offset The number of matching orders to skip.
+     * @param limit  The maximum number of order identifiers to return.
+     * @return The identifiers of the requested matching orders, the number of all matching orders and the date
+     *         range the requested orders were placed in.
+     */
+    public ProductSearchHits searchOrderIdsByProduct(String term, long offset, int limit) {
+        Roaring64Bitmap[] ranks = new Roaring64Bitmap[RELEVANCE_RANKS];
+        for (int rank = 0; rank < RELEVANCE_RANKS; rank++) {
+            ranks[rank] = new Roaring64Bitmap();
+        }
+        Roaring64Bitmap open = new Roaring64Bitmap();
+        String wordTerm = " " + term;
+        LocalDate openFrom;
+        lock.readLock().lock();
+        try {
+            openFrom = completeBefore;
+            for (String name : ordersByProduct.candidates(term)) {
+                int rank = relevance(name, term, wordTerm);
+                if (rank >= 0) {
+                    for (String productName : ordersByProduct.productNames(name)) {
+                        ranks[rank].or(ordersByProduct.get(productName));
+                    }
+                }
+            }
+            for (Roaring64Bitmap orders : ordersByDate.tailMap(openFrom, true).values()) {
+                open.or(orders);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // the orders of the days not complete in the index are ranked by the database instead
+        String escaped = OrderServiceImpl.escapeLike(term);
+        for (Roaring64Bitmap orders : ranks) {
+            orders.andNot(open);
+        }
+        for (Object[] row : orderRepository.findOrderIdsAndRanksByProductSince(term, escaped + "%", "% " + escaped + "%",
+                "%" + escaped + "%", openFrom)) {
+            ranks[((Number) row[1]).intValue()].addLong((Long) row[0]);
+        }
+
+        Roaring64Bitmap ranked = new Roaring64Bitmap();
+        for (Roaring64Bitmap orders : ranks) {
+            orders.andNot(ranked);
+            ranked.or(orders);
+        }
+
+        long[] orderIds = new long[(int) Math.max(0, Math.min(limit, ranked.getLongCardinality() - offset))];
+        int found = 0;
+        long skip = offset;
+        for (Roaring64Bitmap orders : ranks) {
+            if (found == orderIds.length) {
+                break;
+            }
+            if (skip >= orders.getLongCardinality()) {
+                skip -= orders.getLongCardinality();
+                continue;
+            }
+            LongIterator ids = orders.getReverseLongIterator();
+            for (; skip > 0; skip--) {
+                ids.next();
+            }
+            while (found < orderIds.length && ids.hasNext()) {
+                orderIds[found++] = ids.next();
+            }
+        }
+        return pageOf(orderIds, ranked.getLongCardinality());
+    }
+
+    /**
+     * Adds to a page of search hits the earliest and latest order date of its orders. Orders not found on the days
+     * complete in the index were placed on a day still open, and at the latest tomorrow, as orders are never
+     * placed more than a day off the current date.
+     */
+    private ProductSearchHits pageOf(long[] orderIds, long total) {
+        Roaring64Bitmap remaining = Roaring64Bitmap.bitmapOf(orderIds);
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        LocalDate openFrom;
+        lock.readLock().lock();
+        try {
+            openFrom = completeBefore;
+            for (Map.Entry<LocalDate, Roaring64Bitmap> day : ordersByDate.headMap(openFrom, false).entrySet()) {
+                if (remaining.isEmpty()) {
+                    break;
+                }
+                long before = remaining.getLongCardinality();
+                remaining.andNot(day.getValue());
+                if (remaining.getLongCardinality() < before) {
+                    startDate = startDate == null ? day.getKey() : startDate;
+                    endDate = day.getKey();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (!remaining.isEmpty()) {
+            startDate = startDate == null ? openFrom : startDate;
+            endDate = LocalDate.now().plusDays(1);
+        }
+        return new ProductSearchHits(orderIds, total, startDate, endDate);
+    }
+
+    /**
+     * Ranks how well a lower-case product name matches a search term, the same way as
+     * {@code OrderRepository.searchOrderIdsByProduct}: 0 if the name equals the term, 1 if it starts with it, 2 if
+     * a later word of the name starts with it and 3 if the name contains it elsewhere.
+     *
+     * @param name     The lower-case product name.
+     * @param term     The lower-case search term.
+     * @param wordTerm The search term preceded by a space.
+     * @return The rank, or -1 if the name does not contain the term.
+     */
+    static int relevance(String name, String term, String wordTerm) {
+        if (name.equals(term)) {
+            return 0;
+        }
+        if (name.startsWith(term)) {
+            return 1;
+        }
+        if (name.contains(wordTerm)) {
+            return 2;
+        }
+        return name.contains(term) ? 3 : -1;
+    }
+
+    /**
+     * Adds orders of this instance to the index once the transaction that stored them has committed. A day already
+     * complete in the index that receives an order is marked to be read again, as other instances may have stored
+     * orders for it as well.
+     *
+     * @param event The event carrying the created orders.
+     */
+    @TransactionalEventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Order order : event.orders()) {
+                add(ordersByDate, ordersByProduct, order);
+                LocalDate orderDate = order.getOrderDate();
+                if (orderDate != null && orderDate.isBefore(completeBefore) && !orderDate.isBefore(archivedBefore)) {
+                    staleDays.add(orderDate);
+                }
+            }
+            if (createdDuringRebuild != null) {
+                createdDuringRebuild.addAll(event.orders());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the orders placed before the given day from the index once their partitions have been archived, so
+     * they are no longer returned for rows the order tables do not hold.
+     *
+     * @param event The event carrying the first day still in the order tables.
+     */
+    @EventListener
+    public void onOrdersArchived(OrdersArchivedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.archivedBefore().isAfter(archivedBefore)) {
+                archivedBefore = event.archivedBefore();
+                dropBefore(ordersByDate, ordersByProduct, archivedBefore);
+                staleDays.headSet(archivedBefore).clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the index from the whole database and replaces the current one. Orders created while the build reads
+     * the database are carried over, so they are never lost from the index. Waits for a build or catch-up that is
+     * already running to finish first.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        long start = System.nanoTime();
+        LocalDate openFrom = openFrom(LocalDate.now());
+        setCreatedDuringRebuild(new ArrayList<>());
+        try {
+            NavigableMap<LocalDate, Roaring64Bitmap> byDate = new TreeMap<>();
+            ProductBitmaps byProduct = new ProductBitmaps();
+            rebuildTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = orderRepository.streamIdsAndDates()) {
+                    rows.filter(row -> row[1] != null)
+                            .forEach(row -> bitmap(byDate, (LocalDate) row[1]).addLong((Long) row[0]));
+                }
+                try (Stream<Object[]> rows = orderRepository.streamOrderIdsAndProductNames()) {
+                    rows.filter(row -> row[0] != null && row[1] != null)
+                            .forEach(row -> byProduct.bitmap((String) row[1]).addLong((Long) row[0]));
+                }
+            });
+            byDate.values().forEach(Roaring64Bitmap::runOptimize);
+            byProduct.runOptimize();
+
+            lock.writeLock().lock();
+            try {
+                for (Order order : createdDuringRebuild) {
+                    add(byDate, byProduct, order);
+                }
+                // partitions archived while the build read the database
+                dropBefore(byDate, byProduct, archivedBefore);
+                ordersByDate = byDate;
+                ordersByProduct = byProduct;
+                createdDuringRebuild = null;
+                completeBefore = openFrom;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Built order product index of {} orders and {} products in {} ms",
+                    byDate.values().stream().mapToLong(Roaring64Bitmap::getLongCardinality).sum(),
+                    byProduct.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            setCreatedDuringRebuild(null);
+            log.warn("Failed to build order product index", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the orders of the days that are over since the index was last made complete, so they are answered from
+     * the index from then on. Reads a day of orders for each day passed, not the whole database.
+     *
+     * @param today The current day.
+     */
+    void catchUp(LocalDate today) {
+        rebuildLock.lock();
+        try {
+            LocalDate from = completeBefore;
+            LocalDate to = openFrom(today);
+            if (!to.isAfter(from)) {
+                return;
+            }
+            long added = readDays(from, to);
+
+            lock.writeLock().lock();
+            try {
+                completeBefore = to;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Added {} orders placed from {} to {} to the order product index", added, from, to.minusDays(1));
+        } catch (RuntimeException e) {
+            log.warn("Failed to catch up order product index", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the days complete in the index that received orders of this instance since the last run again, so the
+     * orders other instances stored for them late are added as well. Days that fail to be read are kept for the
+     * next run.
+     */
+    void reindexStaleDays() {
+        rebuildLock.lock();
+        NavigableSet<LocalDate> days = new TreeSet<>();
+        try {
+            lock.writeLock().lock();
+            try {
+                days.addAll(staleDays);
+                staleDays.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            while (!days.isEmpty()) {
+                LocalDate day = days.first();
+                long added = readDays(day, day.plusDays(1));
+                days.pollFirst();
+                log.info("Read {} orders placed on {} into the order product index again", added, day);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                staleDays.addAll(days.tailSet(archivedBefore));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Failed to read days of the order product index again", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the orders placed within the given days from the database and adds them to the index.
+     *
+     * @param from The first day.
+     * @param to   The day after the last day.
+     * @return The number of orders read.
+     */
+    private long readDays(LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, Roaring64Bitmap> byDate = new TreeMap<>();
+        ProductBitmaps byProduct = new ProductBitmaps();
+        rebuildTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = orderRepository.streamIdsAndDatesBetween(from, to)) {
+                rows.forEach(row -> bitmap(byDate, (LocalDate) row[1]).addLong((Long) row[0]));
+            }
+            try (Stream<Object[]> rows = orderRepository.streamOrderIdsAndProductNamesBetween(from, to)) {
+                rows.filter(row -> row[1] != null)
+                        .forEach(row -> byProduct.bitmap((String) row[1]).addLong((Long) row[0]));
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            dropBefore(byDate, byProduct, archivedBefore);
+            byDate.forEach((date, orders) -> bitmap(ordersByDate, date).or(orders));
+            ordersByProduct.or(byProduct);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return byDate.values().stream().mapToLong(Roaring64Bitmap::getLongCardinality).sum();
+    }
+
+    /**
+     * Returns the first day on which orders may still be placed, given the current day.
+     */
+    private static LocalDate openFrom(LocalDate today) {
+        return today.minusDays(1);
+    }
+
+    private void setCreatedDuringRebuild(List<Order> orders) {
+        lock.writeLock().lock();
+        try {
+            createdDuringRebuild = orders;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void add(NavigableMap<LocalDate, Roaring64Bitmap> byDate, ProductBitmaps byProduct,
+                            Order order) {
+        if (order.getOrderDate() != null) {
+            bitmap(byDate, order.getOrderDate()).addLong(order.getId());
+        }
+        for (OrderDetails item : order.getItems()) {
+            if (item.getProductName() != null) {
+                byProduct.bitmap(item.getProductName()).addLong(order.getId());
+            }
+        }
+    }
+
+    /**
+     * Removes the days before the given one, and their orders from the product bitmaps.
+     */
+    private static void dropBefore(NavigableMap<LocalDate, Roaring64Bitmap> byDate, ProductBitmaps byProduct,
+                                   LocalDate day) {
+        NavigableMap<LocalDate, Roaring64Bitmap> dropped = byDate.headMap(day, false);
+        if (dropped.isEmpty()) {
+            return;
+        }
+        Roaring64Bitmap orders = new Roaring64Bitmap();
+        dropped.values().forEach(orders::or);
+        dropped.clear();
+        byProduct.andNot(orders);
+    }
+
+    private static <K> Roaring64Bitmap bitmap(Map<K, Roaring64Bitmap> bitmaps, K key) {
+        return bitmaps.computeIfAbsent(key, k -> new Roaring64Bitmap());
+    }
+
+    /**
+     * The order bitmaps by product name, with the lower-case names of the products and the lower-case names
+     * containing each three-character sequence, for product name searches.
+     */
+    private static final class ProductBitmaps {
+        private static final int GRAM = 3;
+
+        private final Map<String, Roaring64Bitmap> byName = new HashMap<>();
+        private final Map<String, List<String>> namesByLowerName = new HashMap<>();
+        private final Map<String, Set<String>> lowerNamesByGram = new HashMap<>();
+
+        Roaring64Bitmap get(String productName) {
+            return byName.get(productName);
+        }
+
+        /**
+         * Returns the bitmap of a product, adding the product if it is new.
+         */
+        Roaring64Bitmap bitmap(String productName) {
+            Roaring64Bitmap orders = byName.get(productName);
+            if (orders == null) {
+                orders = new Roaring64Bitmap();
+                byName.put(productName, orders);
+                String name = productName.toLowerCase(Locale.ROOT);
+                List<String> productNames = namesByLowerName.computeIfAbsent(name, k -> new ArrayList<>(1));
+                if (productNames.isEmpty()) {
+                    for (int i = 0; i + GRAM <= name.length(); i++) {
+                        lowerNamesByGram.computeIfAbsent(name.substring(i, i + GRAM), k -> new HashSet<>()).add(name);
+                    }
+                }
+                productNames.add(productName);
+            }
+            return orders;
+        }
+
+        /**
+         * Returns the product names with the given lower-case form.
+         */
+        List<String> productNames(String name) {
+            return namesByLowerName.getOrDefault(name, List.of());
+        }
+
+        /**
+         * Returns the lower-case names that may contain the term: those containing its rarest three-character
+         * sequence, or every name if the term is shorter than that.
+         */
+        Collection<String> candidates(String term) {
+            if (term.length() < GRAM) {
+                return namesByLowerName.keySet();
+            }
+            Set<String> candidates = null;
+            for (int i = 0; i + GRAM <= term.length(); i++) {
+                Set<String> names = lowerNamesByGram.get(term.substring(i, i + GRAM));
+                if (names == null) {
+                    return List.of();
+                }
+                if (candidates == null || names.size() < candidates.size()) {
+                    candidates = names;
+                }
+            }
+            return candidates;
+        }
+
+        void or(ProductBitmaps other) {
+            other.byName.forEach((productName, orders) -> bitmap(productName).or(orders));
+        }
+
+        void andNot(Roaring64Bitmap orders) {
+            byName.values().forEach(bitmap -> bitmap.andNot(orders));
+        }
+
+        void runOptimize() {
+            byName.values().forEach(Roaring64Bitmap::runOptimize);
+        }
+
+        int size() {
+            return byName.size();
+        }
+    }
+
+    /**
+     * One page of the orders matching a product search.
+     *
+     * @param orderIds  The identifiers of the orders on the page, best match first.
+     * @param total     The number of all matching orders.
+     * @param startDate The earliest order date of the orders on the page, or {@code null} if the page is empty.
+     * @param endDate   The latest order date of the orders on the page, or {@code null} if the page is empty.
+     */
+    public record ProductSearchHits(long[] orderIds, long total, LocalDate startDate, LocalDate endDate) {
+    }
+}
@@ -1,79 +1,218 @@
 package org.example.ordersservice.service.impl;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.example.ordersservice.config.CachingConfig;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.exception.OrderCreationRejectedException;
+import org.example.ordersservice.exception.OrderNotFoundException;
 import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.dto.BatchOrderErrorDto;
+import org.example.ordersservice.model.dto.BatchOrderResponseDto;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderItemRow;
+import org.example.ordersservice.model.dto.OrderPageDto;
 import org.example.ordersservice.model.dto.OrderRequestDto;
 import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.dto.OrderSearchPageDto;
 import org.example.ordersservice.model.entity.Order;
 import org.example.ordersservice.model.entity.OrderDetails;
 import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.OrderNumberService;
 import org.example.ordersservice.service.OrderService;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.example.ordersservice.util.MoneyUtils;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * This class implements the OrderService interface and provides methods for managing orders.
  */
 @Service
-@RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final String CREATE_PHASE_METRIC = "orders.create.phase";
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final RestTemplate restTemplate;
+    private final OrderNumberService orderNumberService;
+    private final OrderWriter orderWriter;
+    private final EntityManager entityManager;
+    private final OrderProductIndex orderProductIndex;
+    private final QueryCoalescer queryCoalescer;
+    private final MeterRegistry meterRegistry;
+    private final OrdersProperties.Create create;
+    private final ExecutorService createExecutor;
+
+    public OrderServiceImpl(OrderRepository orderRepository,
+                            OrderMapper orderMapper,
+                            OrderNumberService orderNumberService,
+                            OrderWriter orderWriter,
+                            EntityManager entityManager,
+                            OrderProductIndex orderProductIndex,
+                            QueryCoalescer queryCoalescer,
+                            MeterRegistry meterRegistry,
+                            OrdersProperties ordersProperties) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.orderNumberService = orderNumberService;
+        this.orderWriter = orderWriter;
+        this.entityManager = entityManager;
+        this.orderProductIndex = orderProductIndex;
+        this.queryCoalescer = queryCoalescer;
+        this.meterRegistry = meterRegistry;
+        this.create = ordersProperties.getCreate();
 
-    private static final String NUMBER_GENERATE_SERVICE_URL = "http://number-generate-service:80/numbers";
+        AtomicInteger threads = new AtomicInteger();
+        this.createExecutor = new ThreadPoolExecutor(create.getThreads(), create.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(create.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "order-create-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    throw new OrderCreationRejectedException("Too many orders are waiting to be stored");
+                });
+    }
 
     /**
-     * Creates a new order based on the provided request data.
+     * Stops the threads that store orders created with {@link #createOrderAsync(OrderRequestDto)}.
+     */
+    @PreDestroy
+    public void shutdown() {
+        createExecutor.shutdown();
+    }
+
+    /**
+     * Creates a new order based on the provided request data and adds it to the order cache. The duration of each
+     * phase (number, mapping, total, save) is recorded by the {@code orders.create.phase} timer.
      *
      * @param request The order request data.
      * @return The created order response data.
      */
     @Override
+    @CachePut(cacheNames = CachingConfig.ORDERS_CACHE, key = "#result.id")
     public OrderResponseDto createOrder(OrderRequestDto request) {
-        String orderNumber = getOrderNumberFromNumberGenerateService();
-
-        Order order = orderMapper.toEntity(request);
-        order.setOrderNumber(orderNumber);
-        order.setOrderDate(LocalDate.now());
+        Timer.Sample phase = Timer.start(meterRegistry);
+        String orderNumber = orderNumberService.nextOrderNumber();
+        return createOrder(request, orderNumber, endPhase(phase, "number"));
+    }
 
-        List<OrderDetails> items = request.getItems().stream()
-                .map(dto -> {
-                    OrderDetails item = orderMapper.toEntity(dto);
-                    item.setOrder(order);
-                    return item;
-                })
-                .toList();
+    /**
+     * Creates a new order like {@link #createOrder(OrderRequestDto)}, without blocking the calling thread while
+     * the order number is fetched. An order whose number is at hand is stored on the calling thread; otherwise it
+     * is stored on one of the {@code orders.create.threads} once the number arrives. An order that finds
+     * {@code orders.create.queue-capacity} orders already waiting for a thread, or that has no number or no
+     * thread after {@code orders.create.timeout}, is not stored.
+     *
+     * @param request The order request data.
+     * @return A future completed with the created order response data, or failed with an
+     *         {@link OrderCreationRejectedException} if the order was not stored for lack of time or threads.
+     */
+    @Override
+    @CachePut(cacheNames = CachingConfig.ORDERS_CACHE, key = "#result.id")
+    public CompletableFuture<OrderResponseDto> createOrderAsync(OrderRequestDto request) {
+        Timer.Sample phase = Timer.start(meterRegistry);
+        CompletableFuture<String> orderNumber = orderNumberService.nextOrderNumberAsync();
+        if (orderNumber.isDone()) {
+            return orderNumber.thenApply(number -> createOrder(request, number, endPhase(phase, "number")));
+        }
 
-        order.setItems(items);
+        Duration timeout = create.getTimeout();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() ->
+                orderNumber.completeExceptionally(new OrderCreationRejectedException(
+                        "No order number within " + timeout)));
+        return orderNumber.thenApplyAsync(number -> {
+            if (System.nanoTime() - deadline > 0) {
+                throw new OrderCreationRejectedException("No thread to store the order within " + timeout);
+            }
+            return createOrder(request, number, endPhase(phase, "number"));
+        }, createExecutor);
+    }
 
-        BigDecimal totalAmount = order.getItems().stream()
-                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private OrderResponseDto createOrder(OrderRequestDto request, String orderNumber, Timer.Sample phase) {
+        Order order = mapOrder(request, orderNumber);
+        phase = endPhase(phase, "mapping");
 
-        order.setTotalAmount(totalAmount);
+        order.setTotalAmount(totalAmount(order));
+        phase = endPhase(phase, "total");
 
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = orderWriter.save(order);
+        endPhase(phase, "save");
         return orderMapper.toResponseDto(savedOrder);
     }
 
     /**
-     * Retrieves an order by its unique identifier.
+     * Creates orders in bulk. Invalid orders are reported individually and do not prevent the others from
+     * being created; all valid orders are persisted in a single transaction.
+     *
+     * @param requests The order request data.
+     * @return The created orders and the errors of the rejected ones, identified by their position in the request.
+     */
+    @Override
+    public BatchOrderResponseDto createOrders(List<OrderRequestDto> requests) {
+        List<Order> orders = new ArrayList<>(requests.size());
+        List<BatchOrderErrorDto> errors = new ArrayList<>();
+
+        for (int index = 0; index < requests.size(); index++) {
+            OrderRequestDto request = requests.get(index);
+            String error = validate(request);
+            if (error != null) {
+                errors.add(new BatchOrderErrorDto(index, error));
+                continue;
+            }
+            try {
+                orders.add(buildOrder(request, orderNumberService.nextOrderNumber()));
+            } catch (RuntimeException e) {
+                errors.add(new BatchOrderErrorDto(index, e.getMessage()));
+            }
+        }
+
+        List<Order> savedOrders = orders.isEmpty() ? orders : orderWriter.saveAll(orders);
+        return new BatchOrderResponseDto(orderMapper.toResponseDtoList(savedOrders), errors);
+    }
+
+    /**
+     * Retrieves an order by its unique identifier, serving repeated lookups from the order cache. Runs in a
+     * read-write transaction so that it reads the primary database and finds an order right after it is created,
+     * even when read replicas lag behind.
      *
      * @param id The unique identifier of the order.
      * @return The order response data.
-     * @throws RuntimeException If the order is not found.
+     * @throws OrderNotFoundException If the order is not found.
      */
     @Override
+    @Transactional
+    @Cacheable(cacheNames = CachingConfig.ORDERS_CACHE, key = "#id")
     public OrderResponseDto getOrderById(Long id) {
         Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+                .orElseThrow(() -> new OrderNotFoundException("Order " + id + " not found"));
         return orderMapper.toResponseDto(order);
     }
 
@@ -82,41 +221,306 @@ public class OrderServiceImpl implements OrderService {
      *
      * @param date   The order date.
      * @param amount The minimum total amount of the orders.
-     * @return The list of order response data.
+     * @return The list of order response data, shared with concurrent identical calls.
      */
     @Override
     public List<OrderResponseDto> getOrdersByDateAndAmount(LocalDate date, BigDecimal amount) {
-        List<Order> orders = orderRepository.findByOrderDateAndTotalAmountGreaterThanEqual(date, amount);
-        return orderMapper.toResponseDtoList(orders);
+        List<Object> key = List.of("byDateAndAmount", date, amount.stripTrailingZeros());
+        return queryCoalescer.execute("byDateAndAmount", key, () -> withItemsBetween(
+                orderRepository.findSummariesByOrderDateAndTotalAmount(date, amount), date, date));
     }
 
     /**
      * Retrieves a list of orders that do not contain a specific product and were placed between the specified dates.
+     * The matching identifiers come from the {@link OrderProductIndex} once it is built, otherwise from the database.
      *
      * @param productName The name of the product to exclude.
      * @param startDate   The start date of the order placement.
      * @param endDate     The end date of the order placement.
-     * @return The list of order response data.
+     * @return The list of order response data, shared with concurrent identical calls.
      */
     @Override
     public List<OrderResponseDto> getOrdersWithoutProductAndBetweenDates(String productName, LocalDate startDate, LocalDate endDate) {
-        List<Order> orders = orderRepository.findOrdersWithoutProductAndBetweenDates(productName, startDate, endDate);
-        return orderMapper.toResponseDtoList(orders);
+        List<Object> key = List.of("withoutProductAndBetweenDates", productName, startDate, endDate);
+        return queryCoalescer.execute("withoutProductAndBetweenDates", key, () -> {
+            if (orderProductIndex.isReady()) {
+                return findOrdersByIds(orderProductIndex.findOrderIdsWithoutProduct(productName, startDate, endDate),
+                        startDate, endDate);
+            }
+            return withItemsBetween(
+                    orderRepository.findSummariesWithoutProductAndBetweenDates(productName, startDate, endDate),
+                    startDate, endDate);
+        });
     }
 
     /**
-     * Retrieves an order number from the number-generate-service.
+     * Retrieves one page of orders based on the specified date and total amount.
      *
-     * @return The order number.
-     * @throws RuntimeException If the order number cannot be retrieved.
+     * @param date   The order date.
+     * @param amount The minimum total amount of the orders.
+     * @param cursor The continuation token of the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of orders on the page.
+     * @return The page of order response data.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDto getOrderPageByDateAndAmount(LocalDate date, BigDecimal amount, String cursor, int size) {
+        OrderCursor after = OrderCursor.decode(cursor, date);
+        List<Order> orders = orderRepository.findPageByOrderDateAndTotalAmount(
+                date, amount, after.orderDate(), after.id(), PageRequest.of(0, size + 1));
+        return toPage(orders, size);
+    }
+
+    /**
+     * Retrieves one page of orders that do not contain a specific product and were placed between the specified dates.
+     *
+     * @param productName The name of the product to exclude.
+     * @param startDate   The start date of the order placement.
+     * @param endDate     The end date of the order placement.
+     * @param cursor      The continuation token of the previous page, or {@code null} for the first page.
+     * @param size        The maximum number of orders on the page.
+     * @return The page of order response data.
      */
-    private String getOrderNumberFromNumberGenerateService() {
-        ResponseEntity<String> response = restTemplate.getForEntity(NUMBER_GENERATE_SERVICE_URL, String.class);
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDto getOrderPageWithoutProductAndBetweenDates(String productName, LocalDate startDate,
+                                                                  LocalDate endDate, String cursor, int size) {
+        OrderCursor after = OrderCursor.decode(cursor, startDate);
+        List<Order> orders = orderRepository.findPageWithoutProductAndBetweenDates(
+                productName, startDate, endDate, after.orderDate(), after.id(), PageRequest.of(0, size + 1));
+        return toPage(orders, size);
+    }
 
-        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-            return response.getBody();
+    /**
+     * Searches orders by product name. The ranked identifiers come from the {@link OrderProductIndex} once it is
+     * built, otherwise from the database, and the orders of the page are then projected by identifier, within the
+     * date range of the page when the index provides it.
+     *
+     * @param product The search term.
+     * @param page    The zero-based page number.
+     * @param size    The maximum number of orders on the page.
+     * @return The page of matching orders, best match first.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSearchPageDto searchOrdersByProduct(String product, int page, int size) {
+        String term = product.strip().toLowerCase(Locale.ROOT);
+        long[] ids;
+        long total;
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        if (orderProductIndex.isReady()) {
+            OrderProductIndex.ProductSearchHits hits = orderProductIndex.searchOrderIdsByProduct(term, (long) page * size, size);
+            ids = hits.orderIds();
+            total = hits.total();
+            startDate = hits.startDate();
+            endDate = hits.endDate();
         } else {
-            throw new RuntimeException("Failed to get order number from number-generate-service");
+            String escaped = escapeLike(term);
+            ids = orderRepository.searchOrderIdsByProduct(term, escaped + "%", "% " + escaped + "%", "%" + escaped + "%",
+                    PageRequest.of(page, size)).stream().mapToLong(Long::longValue).toArray();
+            total = orderRepository.countOrdersByProduct("%" + escaped + "%");
+        }
+
+        Map<Long, OrderResponseDto> ordersById = new HashMap<>();
+        for (OrderResponseDto order : findOrdersByIds(LongStream.of(ids).sorted().toArray(), startDate, endDate)) {
+            ordersById.put(order.getId(), order);
+        }
+        List<OrderResponseDto> ranked = LongStream.of(ids).mapToObj(ordersById::get).filter(Objects::nonNull).toList();
+        return new OrderSearchPageDto(ranked, page, size, total);
+    }
+
+    /**
+     * Streams orders based on the specified date and total amount to the consumer.
+     *
+     * @param date     The order date.
+     * @param amount   The minimum total amount of the orders.
+     * @param consumer The consumer receiving each order response.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOrdersByDateAndAmount(LocalDate date, BigDecimal amount, Consumer<OrderResponseDto> consumer) {
+        try (Stream<Order> orders = orderRepository.streamByOrderDateAndTotalAmount(date, amount)) {
+            forEachDetached(orders, consumer);
+        }
+    }
+
+    /**
+     * Streams orders that do not contain a specific product and were placed between the specified dates to the consumer.
+     *
+     * @param productName The name of the product to exclude.
+     * @param startDate   The start date of the order placement.
+     * @param endDate     The end date of the order placement.
+     * @param consumer    The consumer receiving each order response.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOrdersWithoutProductAndBetweenDates(String productName, LocalDate startDate, LocalDate endDate,
+                                                          Consumer<OrderResponseDto> consumer) {
+        try (Stream<Order> orders = orderRepository.streamWithoutProductAndBetweenDates(productName, startDate, endDate)) {
+            forEachDetached(orders, consumer);
+        }
+    }
+
+    /**
+     * Maps a page query result fetched with one extra row into a page with its continuation token.
+     */
+    private OrderPageDto toPage(List<Order> orders, int size) {
+        boolean hasMore = orders.size() > size;
+        List<Order> page = hasMore ? orders.subList(0, size) : orders;
+        String nextCursor = hasMore ? OrderCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new OrderPageDto(orderMapper.toResponseDtoList(page), nextCursor);
+    }
+
+    /**
+     * Maps each streamed order and detaches it right away, so the persistence context does not grow with the result.
+     */
+    private void forEachDetached(Stream<Order> orders, Consumer<OrderResponseDto> consumer) {
+        orders.forEach(order -> {
+            consumer.accept(orderMapper.toResponseDto(order));
+            entityManager.detach(order);
+        });
+    }
+
+    /**
+     * Projects the orders with the given identifiers, in chunks that keep the IN lists of the queries short. When
+     * the date range of the orders is known, both queries are restricted to it so that only the partitions of the
+     * range are scanned.
+     *
+     * @param ids       The identifiers in ascending order.
+     * @param startDate The earliest order date of the orders, or {@code null} if unknown.
+     * @param endDate   The latest order date of the orders, or {@code null} if unknown.
+     * @return The orders found with their items, ordered by identifier.
+     */
+    private List<OrderResponseDto> findOrdersByIds(long[] ids, LocalDate startDate, LocalDate endDate) {
+        List<OrderResponseDto> orders = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += ID_CHUNK_SIZE) {
+            List<Long> chunk = Arrays.stream(ids, from, Math.min(from + ID_CHUNK_SIZE, ids.length)).boxed().toList();
+            if (startDate == null || endDate == null) {
+                orders.addAll(withItems(orderRepository.findSummariesByIdIn(chunk), orderRepository.findItemRowsByOrderIdIn(chunk)));
+            } else {
+                orders.addAll(withItems(orderRepository.findSummariesByIdInAndBetweenDates(chunk, startDate, endDate),
+                        orderRepository.findItemRowsByOrderIdInAndBetweenDates(chunk, startDate, endDate)));
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Adds their items to projected orders placed within the given date range, reading the items of exactly these
+     * orders in chunks that keep the IN lists of the queries short.
+     *
+     * @param orders    The projected orders, each with an empty item list.
+     * @param startDate The earliest order date of the orders.
+     * @param endDate   The latest order date of the orders.
+     * @return The given orders.
+     */
+    private List<OrderResponseDto> withItemsBetween(List<OrderResponseDto> orders, LocalDate startDate, LocalDate endDate) {
+        for (int from = 0; from < orders.size(); from += ID_CHUNK_SIZE) {
+            List<OrderResponseDto> chunk = orders.subList(from, Math.min(from + ID_CHUNK_SIZE, orders.size()));
+            List<Long> ids = chunk.stream().map(OrderResponseDto::getId).toList();
+            withItems(chunk, orderRepository.findItemRowsByOrderIdInAndBetweenDates(ids, startDate, endDate));
+        }
+        return orders;
+    }
+
+    /**
+     * Escapes the LIKE wildcards and the escape character in a search term.
+     */
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Adds the items of a flat item query to the projected orders they belong to. Items of orders that are not
+     * among the given ones are skipped.
+     *
+     * @param orders The projected orders, each with an empty item list.
+     * @param items  The items of these orders.
+     * @return The given orders.
+     */
+    static List<OrderResponseDto> withItems(List<OrderResponseDto> orders, List<OrderItemRow> items) {
+        Map<Long, OrderResponseDto> ordersById = new HashMap<>((int) (orders.size() / 0.75f) + 1);
+        for (OrderResponseDto order : orders) {
+            ordersById.put(order.getId(), order);
+        }
+        for (OrderItemRow item : items) {
+            OrderResponseDto order = ordersById.get(item.orderId());
+            if (order != null) {
+                order.getItems().add(item.toDetailsDto());
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Builds a new order entity with its items and total amount from the provided request data.
+     *
+     * @param request     The order request data.
+     * @param orderNumber The order number to assign.
+     * @return The order entity, not yet persisted.
+     */
+    private Order buildOrder(OrderRequestDto request, String orderNumber) {
+        Order order = mapOrder(request, orderNumber);
+        order.setTotalAmount(totalAmount(order));
+        return order;
+    }
+
+    private Order mapOrder(OrderRequestDto request, String orderNumber) {
+        return mapOrder(orderMapper, request, orderNumber, LocalDate.now());
+    }
+
+    /**
+     * Maps the request data to a new order entity with its items, without the total amount.
+     */
+    static Order mapOrder(OrderMapper orderMapper, OrderRequestDto request, String orderNumber, LocalDate orderDate) {
+        Order order = orderMapper.toEntity(request);
+        order.setOrderNumber(orderNumber);
+        order.setOrderDate(orderDate);
+
+        List<OrderDetails> items = request.getItems().stream()
+                .map(dto -> {
+                    OrderDetails item = orderMapper.toEntity(dto);
+                    item.setUnitPrice(MoneyUtils.normalize(item.getUnitPrice()));
+                    item.setOrder(order);
+                    return item;
+                })
+                .toList();
+
+        order.setItems(items);
+        return order;
+    }
+
+    static BigDecimal totalAmount(Order order) {
+        return MoneyUtils.total(order.getItems(), OrderDetails::getUnitPrice, OrderDetails::getQuantity);
+    }
+
+    /**
+     * Records the time since the start of the sample as the given phase of order creation and starts the next one.
+     */
+    private Timer.Sample endPhase(Timer.Sample phase, String name) {
+        phase.stop(meterRegistry.timer(CREATE_PHASE_METRIC, "phase", name));
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Checks an order request for the data needed to create it.
+     *
+     * @param request The order request data.
+     * @return A description of the problem, or {@code null} if the order is valid.
+     */
+    static String validate(OrderRequestDto request) {
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            return "Order must contain at least one item";
+        }
+        for (OrderDetailsDto item : request.getItems()) {
+            if (item == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                return "Order item quantity must be positive";
+            }
+            if (item.getUnitPrice() == null || item.getUnitPrice().signum() < 0) {
+                return "Order item unit price must not be negative";
+            }
         }
+        return null;
     }
-}
\ No newline at end of file
+}
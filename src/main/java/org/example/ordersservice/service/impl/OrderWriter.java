@@ -0,0 +1,74 @@
+package org.example.ordersservice.service.impl;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.event.OrdersCreatedEvent;
+import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.DailySalesService;
+import org.example.ordersservice.service.OutboxService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * This class persists prepared orders in bulk.
+ *
+ * <p>Orders are flushed in chunks of the JDBC batch size so Hibernate can group the INSERTs of orders and
+ * order details into JDBC batches, and the persistence context is cleared after every chunk so its size and
+ * the cost of dirty checking stay constant regardless of how many orders are written.
+ *
+ * <p>The daily sales rollup and the outbox of order events are written in the same transaction, so neither
+ * ever reflects an order that was not stored. An {@link OrdersCreatedEvent} is published for listeners that act
+ * once the transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderWriter {
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final DailySalesService dailySalesService;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int chunkSize;
+
+    /**
+     * Persists a single order together with its items.
+     *
+     * @param order The order to persist.
+     * @return The persisted order.
+     */
+    @Transactional
+    public Order save(Order order) {
+        Order savedOrder = orderRepository.save(order);
+        dailySalesService.recordOrders(List.of(savedOrder));
+        outboxService.recordOrdersCreated(List.of(savedOrder));
+        eventPublisher.publishEvent(new OrdersCreatedEvent(List.of(savedOrder)));
+        return savedOrder;
+    }
+
+    /**
+     * Persists all given orders together with their items in a single transaction.
+     *
+     * @param orders The orders to persist.
+     * @return The persisted orders, detached, with their identifiers assigned.
+     */
+    @Transactional
+    public List<Order> saveAll(List<Order> orders) {
+        for (int from = 0; from < orders.size(); from += chunkSize) {
+            List<Order> chunk = orders.subList(from, Math.min(from + chunkSize, orders.size()));
+            orderRepository.saveAll(chunk);
+            outboxService.recordOrdersCreated(chunk);
+            orderRepository.flush();
+            entityManager.clear();
+        }
+        dailySalesService.recordOrders(orders);
+        eventPublisher.publishEvent(new OrdersCreatedEvent(orders));
+        return orders;
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.ordersservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.entity.OutboxEvent;
+import org.example.ordersservice.repository.OutboxEventRepository;
+import org.example.ordersservice.service.OutboxEventSink;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class drains the outbox to the configured {@link OutboxEventSink}.
+ *
+ * <p>Every poll walks the outbox partitions, starting at a random one, and publishes batches of the oldest events
+ * of each until it is empty. A batch is read under the lock of its partition, handed to the sink and deleted in one
+ * transaction, so it is removed only once the sink accepted it. A partition locked by another instance is skipped,
+ * so instances polling at the same time publish different partitions side by side and do not publish an event
+ * twice. A batch the sink rejects stays in the outbox and is retried, together with everything behind it in its
+ * partition, on the next poll.
+ *
+ * <p>All events of an order fall into the same partition and are published in the order they were written. Events
+ * of different orders carry no order relative to each other.
+ *
+ * <p>When no sink is configured ({@code orders.outbox.sink}), nothing is polled and events stay in the outbox
+ * table.
+ */
+@Slf4j
+@Component
+public class OutboxPublisher implements SchedulingConfigurer {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventSink sink;
+    private final OrdersProperties.Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+    private final Counter published;
+    private final Counter failures;
+    private final Timer lag;
+    private volatile List<Integer> partitions;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository,
+                           ObjectProvider<OutboxEventSink> sink,
+                           OrdersProperties ordersProperties,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink.getIfAvailable();
+        this.outbox = ordersProperties.getOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.published = Counter.builder("orders.outbox.published")
+                .description("Outbox events delivered to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("orders.outbox.publish.failures")
+                .description("Polls aborted because the sink rejected a batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("orders.outbox.lag")
+                .description("Time from writing an event to delivering it to the sink")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.oldest.age", oldestPending, this::ageSeconds)
+                .description("Age of the oldest event not yet delivered, as seen by the last poll")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (outbox.isEnabled() && sink == null) {
+            log.warn("No outbox sink configured (orders.outbox.sink), events stay in the outbox table");
+        } else if (outbox.isEnabled()) {
+            registrar.addFixedDelayTask(this::poll, outbox.getPollInterval());
+        }
+    }
+
+    /**
+     * Publishes batches until every partition not locked by another instance is empty.
+     *
+     * @return The number of events published.
+     * @throws IllegalStateException If no sink is configured or the sink rejected a batch; the events published
+     *                               before remain published.
+     */
+    public int publishPending() {
+        if (sink == null) {
+            throw new IllegalStateException("No outbox sink configured");
+        }
+        List<Integer> partitions = partitions();
+        int first = ThreadLocalRandom.current().nextInt(partitions.size());
+        int total = 0;
+        for (int i = 0; i < partitions.size(); i++) {
+            int partition = partitions.get((first + i) % partitions.size());
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> publishBatch(partition, partitions.size()));
+                total += batch;
+            } while (batch == outbox.getBatchSize());
+        }
+        oldestPending.set(null);
+        return total;
+    }
+
+    private void poll() {
+        try {
+            publishPending();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Failed to publish outbox events", e);
+        }
+    }
+
+    private List<Integer> partitions() {
+        if (partitions == null) {
+            partitions = List.copyOf(outboxEventRepository.findPartitions());
+        }
+        return partitions;
+    }
+
+    private int publishBatch(int partition, int partitionCount) {
+        if (outboxEventRepository.lockPartition(partition).isEmpty()) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findOldestOfPartition(partition, partitionCount,
+                PageRequest.of(0, outbox.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        oldestPending.accumulateAndGet(events.get(0).getCreatedAt(),
+                (oldest, createdAt) -> oldest == null || createdAt.isBefore(oldest) ? createdAt : oldest);
+
+        try {
+            sink.publish(events);
+        } catch (Exception e) {
+            throw new IllegalStateException("Sink rejected a batch of " + events.size() + " outbox events", e);
+        }
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+
+        Instant now = Instant.now();
+        for (OutboxEvent event : events) {
+            lag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        published.increment(events.size());
+        return events.size();
+    }
+
+    private double ageSeconds(AtomicReference<Instant> oldest) {
+        Instant createdAt = oldest.get();
+        return createdAt == null ? 0 : Duration.between(createdAt, Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.ordersservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.OutboxEvent;
+import org.example.ordersservice.repository.OutboxEventRepository;
+import org.example.ordersservice.service.OutboxService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class implements the OutboxService interface. The payload of an order-created event is the order as
+ * returned by the API, so consumers do not have to call back to read it.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrdersCreated(List<Order> orders) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            events.add(new OutboxEvent(null, OutboxEvent.ORDER_CREATED, order.getId(), toJson(order), now));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    private String toJson(Order order) {
+        try {
+            return objectMapper.writeValueAsString(orderMapper.toResponseDto(order));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order " + order.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.ordersservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ordersservice.config.OrdersProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of read-only list queries.
+ *
+ * <p>Concurrent calls with the same key share one execution: the first caller runs the query in a read-only
+ * transaction, the others wait for its result without holding a database connection. Optionally the result is
+ * kept for a short time after completion, so calls that arrive just after it finished are served as well.
+ * Results are shared between callers and therefore returned as unmodifiable lists.
+ */
+@Component
+public class QueryCoalescer {
+    private final ConcurrentMap<Object, CompletableFuture<List<?>>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<Object, List<?>> recentResults;
+    private final boolean enabled;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCoalescer(OrdersProperties ordersProperties,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        OrdersProperties.Coalescing coalescing = ordersProperties.getCoalescing();
+        this.enabled = coalescing.isEnabled();
+        this.recentResults = coalescing.getMicroCacheTtl().isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(coalescing.getMicroCacheMaxEntries())
+                .expireAfterWrite(coalescing.getMicroCacheTtl())
+                .build();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the query unless a call with the same key is already running, in which case its result is returned.
+     *
+     * @param query The name of the query, used to tag the metrics.
+     * @param key   Identifies the query and all of its parameters.
+     * @param load  Runs the query; called in a read-only transaction.
+     * @return The unmodifiable result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> execute(String query, Object key, Supplier<List<T>> load) {
+        if (!enabled) {
+            return List.copyOf(readOnlyTransaction.execute(status -> load.get()));
+        }
+
+        if (recentResults != null) {
+            List<?> recent = recentResults.getIfPresent(key);
+            if (recent != null) {
+                meterRegistry.counter("orders.query.coalesced", "query", query, "source", "micro-cache").increment();
+                return (List<T>) recent;
+            }
+        }
+
+        CompletableFuture<List<?>> execution = new CompletableFuture<>();
+        CompletableFuture<List<?>> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            meterRegistry.counter("orders.query.coalesced", "query", query, "source", "in-flight").increment();
+            return (List<T>) join(running);
+        }
+
+        meterRegistry.counter("orders.query.executions", "query", query).increment();
+        try {
+            List<T> result = List.copyOf(readOnlyTransaction.execute(status -> load.get()));
+            if (recentResults != null) {
+                recentResults.put(key, result);
+            }
+            execution.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    private static List<?> join(CompletableFuture<List<?>> execution) {
+        try {
+            return execution.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.ordersservice.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Money arithmetic with a fixed currency scale.
+ *
+ * <p>All amounts are kept at {@link #SCALE} decimal places, matching the {@code NUMERIC(38, 2)} columns, and rounded
+ * with {@link #ROUNDING} (banker's rounding) so the stored value never depends on how the database rounds.
+ * Sums are computed on {@code long} minor units and fall back to {@link BigDecimal} only when a result would
+ * overflow. Reading the minor units of a price creates one short-lived {@link BigDecimal} per item that never
+ * escapes, so once C2 has compiled {@link #total} escape analysis removes it and a total allocates only its result,
+ * whatever the number of items. Interpreted and C1-compiled code still allocates it.
+ */
+public final class MoneyUtils {
+    public static final int SCALE = 2;
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(SCALE);
+
+    private MoneyUtils() {
+    }
+
+    /**
+     * Brings an amount to the currency scale. Amounts that already have it are returned as they are.
+     *
+     * @param amount The amount, may be null.
+     * @return The amount at the currency scale, or null if the amount is null.
+     */
+    public static BigDecimal normalize(BigDecimal amount) {
+        return amount == null ? null : amount.setScale(SCALE, ROUNDING);
+    }
+
+    /**
+     * Computes the sum of unit price times quantity over all items.
+     *
+     * <p>Unit prices are normalized to the currency scale before they are multiplied. Prices that already have it,
+     * as stored prices do, are used as they are.
+     *
+     * @param items     The items to sum up.
+     * @param unitPrice Extracts the unit price of an item.
+     * @param quantity  Extracts the quantity of an item.
+     * @return The total at the currency scale.
+     */
+    public static <T> BigDecimal total(List<T> items, Function<T, BigDecimal> unitPrice, ToIntFunction<T> quantity) {
+        long totalMinor = 0;
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            try {
+                long priceMinor = normalize(unitPrice.apply(item)).scaleByPowerOfTen(SCALE).longValueExact();
+                totalMinor = Math.addExact(totalMinor, Math.multiplyExact(priceMinor, quantity.applyAsInt(item)));
+            } catch (ArithmeticException e) {
+                return exactTotal(items, unitPrice, quantity);
+            }
+        }
+        return totalMinor == 0 ? ZERO : BigDecimal.valueOf(totalMinor, SCALE);
+    }
+
+    private static <T> BigDecimal exactTotal(List<T> items, Function<T, BigDecimal> unitPrice, ToIntFunction<T> quantity) {
+        BigDecimal total = ZERO;
+        for (T item : items) {
+            total = total.add(normalize(unitPrice.apply(item)).multiply(BigDecimal.valueOf(quantity.applyAsInt(item))));
+        }
+        return total;
+    }
+}
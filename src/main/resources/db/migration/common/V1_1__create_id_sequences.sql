@@ -0,0 +1,4 @@
+-- Sequences for databases baselined at V1, which were created with identity columns and have none. On new
+-- databases V1 already created them and this is a no-op.
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_details_seq START WITH 1 INCREMENT BY 50;
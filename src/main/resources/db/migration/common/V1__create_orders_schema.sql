@@ -0,0 +1,31 @@
+-- Schema of a new database. Databases created by Hibernate's ddl-auto before migrations were introduced have
+-- identity columns and no sequences; they are baselined at this version, so this script does not run on them
+-- and V1_1 adds the sequences instead.
+
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_details_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE orders
+(
+    id               BIGINT NOT NULL,
+    order_number     VARCHAR(255),
+    total_amount     NUMERIC(38, 2),
+    order_date       DATE,
+    recipient        VARCHAR(255),
+    delivery_address VARCHAR(255),
+    payment_type     VARCHAR(255) CHECK (payment_type IN ('CARD', 'CASH')),
+    delivery_type    VARCHAR(255) CHECK (delivery_type IN ('PICKUP', 'DOOR_DELIVERY')),
+    CONSTRAINT orders_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE order_details
+(
+    id           BIGINT NOT NULL,
+    article_id   BIGINT,
+    product_name VARCHAR(255),
+    quantity     INTEGER,
+    unit_price   NUMERIC(38, 2),
+    order_id     BIGINT,
+    CONSTRAINT order_details_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_order_details_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
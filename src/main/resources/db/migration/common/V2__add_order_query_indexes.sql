@@ -0,0 +1,8 @@
+-- OrderRepository.findByOrderDateAndTotalAmountGreaterThanEqual: equality on the date, range on the amount.
+CREATE INDEX idx_orders_order_date_total_amount ON orders (order_date, total_amount);
+
+-- Date range scans and keyset pagination ordered by (order_date, id).
+CREATE INDEX idx_orders_order_date_id ON orders (order_date, id);
+
+-- NOT EXISTS product lookup per order in findOrdersWithoutProductAndBetweenDates; also serves joins on order_id.
+CREATE INDEX idx_order_details_order_id_product_name ON order_details (order_id, product_name);
@@ -0,0 +1,19 @@
+-- Per-day sales rollup maintained on order creation. Every day is split over a few slots that writers pick at
+-- random, so concurrent orders of the same day do not all wait for the lock of a single row; readers sum the slots.
+
+CREATE TABLE daily_sales
+(
+    sales_date                DATE           NOT NULL,
+    slot                      INTEGER        NOT NULL,
+    order_count               BIGINT         NOT NULL DEFAULT 0,
+    revenue                   NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    card_order_count          BIGINT         NOT NULL DEFAULT 0,
+    card_revenue              NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    cash_order_count          BIGINT         NOT NULL DEFAULT 0,
+    cash_revenue              NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    pickup_order_count        BIGINT         NOT NULL DEFAULT 0,
+    pickup_revenue            NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    door_delivery_order_count BIGINT         NOT NULL DEFAULT 0,
+    door_delivery_revenue     NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    CONSTRAINT daily_sales_pkey PRIMARY KEY (sales_date, slot)
+);
@@ -0,0 +1,13 @@
+-- Transactional outbox: events are written together with the orders and deleted once they have been published.
+
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events
+(
+    id           BIGINT                   NOT NULL,
+    event_type   VARCHAR(64)              NOT NULL,
+    aggregate_id BIGINT                   NOT NULL,
+    payload      TEXT                     NOT NULL,
+    created_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT outbox_events_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,2 @@
+-- Order status lookups and the deduplication of replayed ingestion journal entries by order number.
+CREATE INDEX idx_orders_order_number ON orders (order_number);
@@ -0,0 +1,5 @@
+-- Order items carry the date of their order, so on PostgreSQL both tables can be partitioned by it and queries
+-- restricted to a date range touch only the item partitions of that range.
+ALTER TABLE order_details ADD COLUMN order_date DATE;
+
+UPDATE order_details SET order_date = (SELECT o.order_date FROM orders o WHERE o.id = order_details.order_id);
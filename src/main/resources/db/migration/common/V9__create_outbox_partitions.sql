@@ -0,0 +1,12 @@
+-- Outbox publishers claim a partition of the outbox by locking its row here. An event belongs to partition
+-- aggregate_id % (number of rows), so all events of an order are published by one publisher at a time, oldest first.
+CREATE TABLE outbox_partitions
+(
+    partition_no INTEGER NOT NULL,
+    CONSTRAINT outbox_partitions_pkey PRIMARY KEY (partition_no)
+);
+
+INSERT INTO outbox_partitions (partition_no)
+VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12), (13), (14), (15);
+
+CREATE INDEX idx_outbox_events_created_at ON outbox_events (created_at, id);
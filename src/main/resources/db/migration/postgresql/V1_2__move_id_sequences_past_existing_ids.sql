@@ -0,0 +1,5 @@
+-- Moves the sequences past the identifiers already in use, so ids allocated for databases baselined at V1 do not
+-- collide with rows inserted through their identity columns. Kept apart from V1_1 because H2 has no setval; its
+-- databases are always created by V1 and start empty.
+SELECT setval('orders_seq', COALESCE((SELECT max(id) FROM orders), 0) + 50);
+SELECT setval('order_details_seq', COALESCE((SELECT max(id) FROM order_details), 0) + 50);
@@ -0,0 +1,72 @@
+-- Range partitioning of orders and order_details by month of order_date. Primary keys and the foreign key
+-- include the partition key, as PostgreSQL requires; identifiers stay unique through their sequences.
+-- Partitions are created from the month of the oldest order through three months ahead; later months are created
+-- by OrderPartitionMaintenance. Rows outside every partition land in the default partitions.
+
+CREATE TABLE orders_partitioned
+(
+    id               BIGINT NOT NULL,
+    order_number     VARCHAR(255),
+    total_amount     NUMERIC(38, 2),
+    order_date       DATE   NOT NULL,
+    recipient        VARCHAR(255),
+    delivery_address VARCHAR(255),
+    payment_type     VARCHAR(255) CHECK (payment_type IN ('CARD', 'CASH')),
+    delivery_type    VARCHAR(255) CHECK (delivery_type IN ('PICKUP', 'DOOR_DELIVERY'))
+) PARTITION BY RANGE (order_date);
+
+CREATE TABLE order_details_partitioned
+(
+    id           BIGINT NOT NULL,
+    article_id   BIGINT,
+    product_name VARCHAR(255),
+    quantity     INTEGER,
+    unit_price   NUMERIC(38, 2),
+    order_id     BIGINT,
+    order_date   DATE   NOT NULL
+) PARTITION BY RANGE (order_date);
+
+DO
+$$
+    DECLARE
+        first_day DATE;
+    BEGIN
+        FOR first_day IN
+            SELECT generate_series(date_trunc('month', COALESCE((SELECT min(order_date) FROM orders), CURRENT_DATE)),
+                                   date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                                   INTERVAL '1 month')::DATE
+            LOOP
+                EXECUTE format('CREATE TABLE orders_p%s PARTITION OF orders_partitioned FOR VALUES FROM (%L) TO (%L)',
+                               to_char(first_day, 'YYYY_MM'), first_day, (first_day + INTERVAL '1 month')::DATE);
+                EXECUTE format('CREATE TABLE order_details_p%s PARTITION OF order_details_partitioned FOR VALUES FROM (%L) TO (%L)',
+                               to_char(first_day, 'YYYY_MM'), first_day, (first_day + INTERVAL '1 month')::DATE);
+            END LOOP;
+    END
+$$;
+
+CREATE TABLE orders_default PARTITION OF orders_partitioned DEFAULT;
+CREATE TABLE order_details_default PARTITION OF order_details_partitioned DEFAULT;
+
+INSERT INTO orders_partitioned (id, order_number, total_amount, order_date, recipient, delivery_address,
+                                payment_type, delivery_type)
+SELECT id, order_number, total_amount, order_date, recipient, delivery_address, payment_type, delivery_type
+FROM orders;
+
+INSERT INTO order_details_partitioned (id, article_id, product_name, quantity, unit_price, order_id, order_date)
+SELECT id, article_id, product_name, quantity, unit_price, order_id, order_date
+FROM order_details;
+
+DROP TABLE order_details;
+DROP TABLE orders;
+ALTER TABLE orders_partitioned RENAME TO orders;
+ALTER TABLE order_details_partitioned RENAME TO order_details;
+
+ALTER TABLE orders ADD CONSTRAINT orders_pkey PRIMARY KEY (id, order_date);
+ALTER TABLE order_details ADD CONSTRAINT order_details_pkey PRIMARY KEY (id, order_date);
+ALTER TABLE order_details ADD CONSTRAINT fk_order_details_order
+    FOREIGN KEY (order_id, order_date) REFERENCES orders (id, order_date);
+
+CREATE INDEX idx_orders_order_date_total_amount ON orders (order_date, total_amount);
+CREATE INDEX idx_orders_order_date_id ON orders (order_date, id);
+CREATE INDEX idx_orders_order_number ON orders (order_number);
+CREATE INDEX idx_order_details_order_id_product_name ON order_details (order_id, product_name);
@@ -0,0 +1,5 @@
+-- Product name search (OrderRepository.searchOrderIdsByProduct) matches lower(product_name) against LIKE '%term%',
+-- which a B-tree cannot serve. A trigram GIN index can, for terms of three characters or more.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_order_details_product_name_trgm ON order_details USING gin (lower(product_name) gin_trgm_ops);
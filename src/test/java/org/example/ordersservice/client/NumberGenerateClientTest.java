@@ -0,0 +1,146 @@
+package org.example.ordersservice.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.example.ordersservice.config.AppConfig;
+import org.example.ordersservice.config.NumberGenerateServiceProperties;
+import org.example.ordersservice.exception.NumberGenerateServiceUnavailableException;
+import org.example.ordersservice.support.NumberGenerateServiceStub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberGenerateClientTest {
+
+    private NumberGenerateServiceStub stub;
+    private MeterRegistry meterRegistry;
+    private NumberGenerateServiceProperties properties;
+    private CloseableHttpAsyncClient httpClient;
+    private NumberGenerateClient client;
+
+    @BeforeEach
+    void setUp() {
+        stub = NumberGenerateServiceStub.start();
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new NumberGenerateServiceProperties();
+        properties.setUrl(stub.url());
+        properties.getHttp().setReadTimeout(Duration.ofMillis(200));
+        properties.getResilience().setRetryBackoff(Duration.ofMillis(10));
+        properties.getResilience().setSlidingWindowSize(4);
+        properties.getResilience().setMinimumNumberOfCalls(4);
+        properties.getResilience().setOpenStateDuration(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (client != null) {
+            client.shutdown();
+        }
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        stub.close();
+    }
+
+    @Test
+    void fetchOrderNumberRetriesTransientFailures() {
+        stub.failNext(2);
+
+        String number = createClient().fetchOrderNumber();
+
+        assertNotNull(number);
+        assertEquals(3, stub.requestCount());
+    }
+
+    @Test
+    void fetchOrderNumberAsyncDoesNotBlockTheCaller() {
+        stub.delay(Duration.ofMillis(300));
+        NumberGenerateClient client = createClient();
+
+        long start = System.nanoTime();
+        CompletableFuture<String> number = client.fetchOrderNumberAsync();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(150)) < 0);
+        assertFalse(number.isDone());
+        assertNotNull(number.join());
+    }
+
+    @Test
+    void fetchOrderNumberTimesOutSlowResponses() {
+        stub.delay(Duration.ofSeconds(2));
+        properties.getResilience().setMaxAttempts(1);
+        NumberGenerateClient client = createClient();
+
+        long start = System.nanoTime();
+        assertThrows(NumberGenerateServiceUnavailableException.class, client::fetchOrderNumber);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void fetchOrderNumberFailsFastOnceCircuitIsOpen() {
+        stub.respondWith(500);
+        properties.getResilience().setMaxAttempts(1);
+        NumberGenerateClient client = createClient();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(NumberGenerateServiceUnavailableException.class, client::fetchOrderNumber);
+        }
+        int requestsBeforeOpen = stub.requestCount();
+
+        NumberGenerateServiceUnavailableException exception =
+                assertThrows(NumberGenerateServiceUnavailableException.class, client::fetchOrderNumber);
+
+        assertFalse(client.isAvailable());
+        assertTrue(exception.getMessage().contains("Circuit breaker"));
+        assertEquals(requestsBeforeOpen, stub.requestCount());
+        assertEquals(1.0, meterRegistry.get("orders.number.circuit.transitions")
+                .tags("from", "CLOSED", "to", "OPEN").counter().count());
+    }
+
+    @Test
+    void fetchOrderNumberRejectsCallsBeyondBulkheadLimit() throws InterruptedException {
+        stub.delay(Duration.ofMillis(150));
+        properties.getResilience().setMaxConcurrentCalls(2);
+        NumberGenerateClient client = createClient();
+
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        List<Future<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(callers.submit(client::fetchOrderNumber));
+        }
+        int rejected = 0;
+        for (Future<String> call : calls) {
+            try {
+                call.get();
+            } catch (ExecutionException e) {
+                assertInstanceOf(NumberGenerateServiceUnavailableException.class, e.getCause());
+                rejected++;
+            }
+        }
+        callers.shutdown();
+
+        assertTrue(rejected > 0);
+        assertEquals(rejected, meterRegistry.get("orders.number.bulkhead.rejected").counter().count());
+        assertTrue(client.isAvailable());
+    }
+
+    private NumberGenerateClient createClient() {
+        AppConfig appConfig = new AppConfig();
+        httpClient = appConfig.numberGenerateHttpClient(properties);
+        client = new NumberGenerateClient(httpClient, properties, meterRegistry);
+        return client;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.ordersservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductionSettingsValidatorTest {
+    private static final String DATA_SOURCE_PROPERTIES = "spring.datasource.hikari.data-source-properties.";
+
+    @Test
+    void productionSettingsPass() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "false")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "validate")
+                .withProperty("spring.datasource.url", "jdbc:postgresql://db:5432/orders_db")
+                .withProperty(DATA_SOURCE_PROPERTIES + "reWriteBatchedInserts", "true")
+                .withProperty(DATA_SOURCE_PROPERTIES + "prepareThreshold", "2")
+                .withProperty("logging.level.org.hibernate.SQL", "WARN")
+                .withProperty("orders.outbox.sink", "file");
+
+        assertTrue(new ProductionSettingsValidator(environment).findDevSettings().isEmpty());
+    }
+
+    @Test
+    void devSettingsAreReported() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "true")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "true")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "update")
+                .withProperty("spring.datasource.url", "jdbc:h2:mem:orders_db")
+                .withProperty(DATA_SOURCE_PROPERTIES + "prepareThreshold", "0")
+                .withProperty("logging.level.org.hibernate.SQL", "debug")
+                .withProperty("orders.outbox.sink", "memory");
+
+        List<String> devSettings = new ProductionSettingsValidator(environment).findDevSettings();
+
+        assertEquals(8, devSettings.size(), devSettings::toString);
+    }
+
+    @Test
+    void missingOutboxSinkIsReported() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(DATA_SOURCE_PROPERTIES + "reWriteBatchedInserts", "true")
+                .withProperty("orders.outbox.sink", "");
+
+        List<String> devSettings = new ProductionSettingsValidator(environment).findDevSettings();
+
+        assertEquals(1, devSettings.size(), devSettings::toString);
+        assertTrue(devSettings.get(0).startsWith("orders.outbox.sink is not set"));
+    }
+}
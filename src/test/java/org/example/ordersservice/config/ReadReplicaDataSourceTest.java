@@ -0,0 +1,95 @@
+package org.example.ordersservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaDataSourceTest {
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstConnection = mock(Connection.class);
+    private final Connection secondConnection = mock(Connection.class);
+
+    @Test
+    void connectionsAlternateBetweenReplicas() throws SQLException {
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(List.of(first, second), primary, Duration.ofSeconds(30));
+
+        assertSame(firstConnection, dataSource.getConnection());
+        assertSame(secondConnection, dataSource.getConnection());
+        assertSame(firstConnection, dataSource.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void failedReplicaIsSkippedUntilRetryDelayHasPassed() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("replica down"));
+        when(second.getConnection()).thenReturn(secondConnection);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(List.of(first, second), primary, Duration.ofSeconds(30));
+
+        assertSame(secondConnection, dataSource.getConnection());
+        assertSame(secondConnection, dataSource.getConnection());
+        assertSame(secondConnection, dataSource.getConnection());
+        verify(first, times(1)).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void failedReplicaIsRetriedAfterRetryDelay() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("replica down")).thenReturn(firstConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(List.of(first), primary, Duration.ZERO);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(firstConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void primaryServesReadsWhenEveryReplicaFails() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("replica down"));
+        when(second.getConnection()).thenThrow(new SQLException("replica down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(List.of(first, second), primary, Duration.ofSeconds(30));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(first, times(1)).getConnection();
+        verify(second, times(1)).getConnection();
+    }
+
+    @Test
+    void connectionsWithCredentialsComeFromReplicasAndFallBackToPrimary() throws SQLException {
+        when(first.getConnection("reader", "secret")).thenReturn(firstConnection);
+        when(second.getConnection("reader", "secret")).thenThrow(new SQLException("replica down"));
+        when(primary.getConnection("reader", "secret")).thenReturn(primaryConnection);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(List.of(first, second), primary, Duration.ofSeconds(30));
+
+        assertSame(firstConnection, dataSource.getConnection("reader", "secret"));
+        assertSame(firstConnection, dataSource.getConnection("reader", "secret"));
+        when(first.getConnection("reader", "secret")).thenThrow(new SQLException("replica down"));
+        assertSame(primaryConnection, dataSource.getConnection("reader", "secret"));
+    }
+
+    @Test
+    void closeClosesReplicaPoolsButNotPrimary() {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariDataSource primaryPool = mock(HikariDataSource.class);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(List.of(pool, first), primaryPool, Duration.ofSeconds(30));
+
+        dataSource.close();
+
+        verify(pool).close();
+        verify(primaryPool, never()).close();
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.ordersservice.controller;
+
+import org.example.ordersservice.support.NumberGenerateServiceStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load-test harness for {@code POST /orders} against a number-generate-service stub with fixed latency.
+ *
+ * <p>The pool, bulkhead, connection limits and Tomcat threads keep their shipped defaults, so requests the
+ * service sheds under this load are answered with 503 and counted rather than hidden by raised limits. Run once
+ * per mode and compare the printed throughput, p99 and 503 count:
+ * {@code mvn -Pbenchmark test -Dtest=OrderCreateLoadTest} for requests that release their thread while they wait
+ * for the number, the same with {@code -Dorders.create.non-blocking=false} for requests that block on it, and
+ * either with {@code -Dnumber-generate-service.pool.enabled=false} to call the number service once per order.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OrderCreateLoadTest {
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final Duration NUMBER_SERVICE_LATENCY = Duration.ofMillis(50);
+    private static final String ORDER_JSON = """
+            {"recipient":"Recipient","deliveryAddress":"Address","paymentType":"CARD","deliveryType":"PICKUP",
+             "items":[{"articleId":1,"productName":"Laptop","quantity":1,"unitPrice":100.00}]}""";
+
+    private static final NumberGenerateServiceStub STUB = NumberGenerateServiceStub.start();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${orders.create.non-blocking}")
+    private boolean nonBlocking;
+
+    @Value("${number-generate-service.pool.enabled}")
+    private boolean pooled;
+
+    @DynamicPropertySource
+    static void numberGenerateService(DynamicPropertyRegistry registry) {
+        STUB.delay(NUMBER_SERVICE_LATENCY);
+        registry.add("number-generate-service.url", STUB::url);
+        // the test profile turns the pool off; the harness measures the shipped default unless told otherwise
+        registry.add("number-generate-service.pool.enabled",
+                () -> System.getProperty("number-generate-service.pool.enabled", "true"));
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @Test
+    void createOrdersUnderConcurrentLoad() throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(CLIENTS)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER_JSON))
+                .build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        List<Future<?>> runs = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            runs.add(clients.submit(() -> {
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    long sent = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    latencies.add(System.nanoTime() - sent);
+                    if (response.statusCode() == 201) {
+                        created.incrementAndGet();
+                    } else if (response.statusCode() == 503) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        clients.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+        System.out.printf("%s number wait, %s: %.0f created/s, p99 %d ms, %d rejected with 503%n",
+                nonBlocking ? "non-blocking" : "blocking", pooled ? "pooled" : "no pool",
+                created.get() / seconds, p99 / 1_000_000, rejected.get());
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, created.get() + rejected.get());
+    }
+}
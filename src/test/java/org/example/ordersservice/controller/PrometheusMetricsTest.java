@@ -0,0 +1,72 @@
+package org.example.ordersservice.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ordersservice.service.OrderNumberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PrometheusMetricsTest {
+    private static final String ORDER_JSON = """
+            {"recipient":"Recipient","deliveryAddress":"Address","paymentType":"CARD","deliveryType":"PICKUP",
+             "items":[{"articleId":1,"productName":"Laptop","quantity":1,"unitPrice":100.00}]}""";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @Test
+    void createOrderRecordsPhasesAndScrapeExposesHotPathMeters() throws Exception {
+        when(orderNumberService.nextOrderNumber()).thenReturn("1111120241212");
+        when(orderNumberService.nextOrderNumberAsync()).thenReturn(CompletableFuture.completedFuture("1111120241212"));
+
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(uri("/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER_JSON))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, created.statusCode());
+
+        for (String phase : List.of("number", "mapping", "total", "save")) {
+            assertTrue(meterRegistry.get("orders.create.phase").tag("phase", phase).timer().count() > 0, phase);
+        }
+
+        HttpResponse<String> scrape = client.send(HttpRequest.newBuilder(uri("/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, scrape.statusCode());
+        String metrics = scrape.body();
+        assertTrue(metrics.contains("orders_create_phase_seconds_bucket{"), "create phase histogram");
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{"), "endpoint latency histogram");
+        assertTrue(metrics.contains("uri=\"/orders\""), "endpoint tag");
+        assertTrue(metrics.contains("hikaricp_connections_active"), "Hikari pool gauges");
+        assertTrue(metrics.contains("hibernate_statements_total"), "Hibernate statement count");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.ordersservice.controller;
+
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.service.OrderNumberService;
+import org.example.ordersservice.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class StreamingTimeoutTest {
+    private static final long CONTAINER_ASYNC_TIMEOUT_MILLIS = 300;
+    private static final int ORDERS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private OrderService orderService;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @Test
+    void streamOutlastsContainerAsyncTimeout() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<OrderResponseDto> consumer = invocation.getArgument(2);
+            for (long id = 1; id <= ORDERS; id++) {
+                Thread.sleep(CONTAINER_ASYNC_TIMEOUT_MILLIS / 2);
+                consumer.accept(new OrderResponseDto(id, "STREAM-" + id, BigDecimal.TEN, LocalDate.of(2024, 12, 12),
+                        null, null, null, null));
+            }
+            return null;
+        }).when(orderService).streamOrdersByDateAndAmount(any(), any(), any());
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/orders/stream?date=2024-12-12&amount=0")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        List<String> lines = response.body().lines().toList();
+        assertEquals(ORDERS, lines.size());
+    }
+
+    @TestConfiguration
+    static class ShortContainerAsyncTimeout {
+
+        /**
+         * Lowers Tomcat's own async timeout, which applies when the application sets none, below the duration of
+         * the stream.
+         */
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(
+                    connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MILLIS));
+        }
+    }
+}
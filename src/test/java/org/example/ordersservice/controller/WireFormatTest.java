@@ -0,0 +1,113 @@
+package org.example.ordersservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.PaymentType;
+import org.example.ordersservice.service.OrderNumberService;
+import org.example.ordersservice.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class WireFormatTest {
+    private static final int ORDERS = 20;
+    // total of every created order; no other test creates orders with it
+    private static final BigDecimal AMOUNT = new BigDecimal("4321.00");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    private List<OrderResponseDto> created;
+
+    @BeforeEach
+    void setUp() {
+        when(orderNumberService.nextOrderNumber()).thenAnswer(invocation -> UUID.randomUUID().toString());
+        List<OrderRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            requests.add(new OrderRequestDto(List.of(new OrderDetailsDto(1L, "Laptop", 1, AMOUNT)),
+                    "Recipient", "Address", PaymentType.CARD, DeliveryType.PICKUP));
+        }
+        created = orderService.createOrders(requests).getCreated();
+    }
+
+    @Test
+    void listIsAvailableAsCborAndSmile() throws Exception {
+        List<OrderResponseDto> json = List.of(objectMapper.readValue(get("application/json", false).body(),
+                OrderResponseDto[].class));
+        List<OrderResponseDto> cbor = List.of(new CBORMapper().findAndRegisterModules()
+                .readValue(get("application/cbor", false).body(), OrderResponseDto[].class));
+        List<OrderResponseDto> smile = List.of(new SmileMapper().findAndRegisterModules()
+                .readValue(get("application/x-jackson-smile", false).body(), OrderResponseDto[].class));
+
+        assertTrue(json.containsAll(created));
+        assertEquals(json, cbor);
+        assertEquals(json, smile);
+    }
+
+    @Test
+    void largeResponsesAreGzipped() throws Exception {
+        HttpResponse<byte[]> response = get("application/json", true);
+
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        List<OrderResponseDto> orders = List.of(objectMapper.readValue(gunzip(response.body()),
+                OrderResponseDto[].class));
+        assertTrue(orders.containsAll(created));
+    }
+
+    private HttpResponse<byte[]> get(String accept, boolean gzip) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/orders?date=" + LocalDate.now() + "&amount=" + AMOUNT))
+                .header("Accept", accept);
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
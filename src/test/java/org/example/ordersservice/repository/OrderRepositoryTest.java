@@ -0,0 +1,131 @@
+package org.example.ordersservice.repository;
+
+import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.dto.OrderItemRow;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.OrderDetails;
+import org.example.ordersservice.model.entity.PaymentType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class OrderRepositoryTest {
+    private static final LocalDate ORDER_DATE = LocalDate.of(2024, 12, 12);
+    private static final int ORDERS = 20;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final OrderMapper orderMapper = OrderMapper.INSTANCE;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setOrderNumber("ORDER-" + i);
+            order.setOrderDate(ORDER_DATE);
+            order.setTotalAmount(BigDecimal.valueOf(100));
+            order.setPaymentType(PaymentType.CARD);
+            order.setDeliveryType(DeliveryType.PICKUP);
+            order.addItem(new OrderDetails(null, 1L, "Laptop", 1, BigDecimal.valueOf(50), null, null));
+            order.addItem(new OrderDetails(null, 2L, i % 2 == 0 ? "Mouse" : "Keyboard", 1, BigDecimal.valueOf(30), null, null));
+            order.addItem(new OrderDetails(null, 3L, "Cable", 1, BigDecimal.valueOf(20), null, null));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void projectionsByOrderDateAndTotalAmountReadOrdersAndItemsInTwoStatements() {
+        List<OrderResponseDto> orders = orderRepository.findSummariesByOrderDateAndTotalAmount(ORDER_DATE, BigDecimal.ZERO);
+        List<OrderItemRow> items = orderRepository.findItemRowsByOrderIdInAndBetweenDates(ids(orders), ORDER_DATE, ORDER_DATE);
+
+        assertEquals(ORDERS, orders.size());
+        assertEquals(ORDERS * ITEMS_PER_ORDER, items.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void projectionsWithoutProductReadOrdersAndItemsInTwoStatements() {
+        List<OrderResponseDto> orders = orderRepository.findSummariesWithoutProductAndBetweenDates("Mouse", ORDER_DATE, ORDER_DATE);
+        List<Long> orderIds = ids(orders);
+        List<OrderItemRow> items = orderRepository.findItemRowsByOrderIdInAndBetweenDates(orderIds, ORDER_DATE, ORDER_DATE);
+
+        assertEquals(ORDERS / 2, orders.size());
+        assertEquals(ORDERS / 2 * ITEMS_PER_ORDER, items.size());
+        assertTrue(items.stream().allMatch(item -> orderIds.contains(item.orderId()) && !"Mouse".equals(item.productName())));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void findPageByOrderDateAndTotalAmountVisitsEveryOrderOnce() {
+        int pageSize = 7;
+        Set<Long> visited = new HashSet<>();
+        LocalDate afterDate = ORDER_DATE;
+        long afterId = 0L;
+        List<Order> page;
+        do {
+            page = orderRepository.findPageByOrderDateAndTotalAmount(
+                    ORDER_DATE, BigDecimal.ZERO, afterDate, afterId, PageRequest.of(0, pageSize));
+            for (Order order : page) {
+                assertTrue(visited.add(order.getId()));
+                afterDate = order.getOrderDate();
+                afterId = order.getId();
+            }
+        } while (page.size() == pageSize);
+
+        assertEquals(ORDERS, visited.size());
+    }
+
+    @Test
+    void streamWithoutProductReturnsEveryMatchingOrderWithItsItems() {
+        List<OrderResponseDto> response;
+        try (Stream<Order> orders = orderRepository.streamWithoutProductAndBetweenDates("Mouse", ORDER_DATE, ORDER_DATE)) {
+            response = orders.map(orderMapper::toResponseDto).toList();
+        }
+
+        assertEquals(ORDERS / 2, response.size());
+        assertEquals(ORDERS / 2 * ITEMS_PER_ORDER, response.stream().mapToInt(order -> order.getItems().size()).sum());
+    }
+
+    private List<Long> ids(List<OrderResponseDto> orders) {
+        return orders.stream().map(OrderResponseDto::getId).toList();
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.ordersservice.repository;
+
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.event.OrdersArchivedEvent;
+import org.example.ordersservice.service.impl.OrderPartitionMaintenance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks on a PostgreSQL database that the list queries of {@link OrderRepository} only scan the partitions of the
+ * requested dates, and that {@link OrderPartitionMaintenance} creates and archives partitions. Runs only when
+ * {@code ORDERS_TEST_POSTGRES_URL} points to a database the test may migrate; its changes are rolled back.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "ORDERS_TEST_POSTGRES_URL", matches = ".+")
+class PartitionPruningTest {
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final YearMonth CURRENT = YearMonth.now();
+    private static final YearMonth NEXT = CURRENT.plusMonths(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("ORDERS_TEST_POSTGRES_URL"));
+        registry.add("spring.datasource.username", () -> env("ORDERS_TEST_POSTGRES_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> env("ORDERS_TEST_POSTGRES_PASSWORD", "postgres"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 100; i++) {
+            LocalDate date = (i % 2 == 0 ? CURRENT : NEXT).atDay(1 + i % 28);
+            insertOrder(-i, date);
+        }
+        jdbcTemplate.execute("ANALYZE orders");
+        jdbcTemplate.execute("ANALYZE order_details");
+    }
+
+    @Test
+    void dateAndAmountQueryScansOnlyPartitionOfDate() {
+        String plan = explain("SELECT o.id FROM orders o WHERE o.order_date = " + literal(CURRENT.atDay(12))
+                + " AND o.total_amount >= 10");
+
+        assertTrue(plan.contains(partition("orders", CURRENT)), plan);
+        assertFalse(plan.contains(partition("orders", NEXT)), plan);
+        assertFalse(plan.contains("orders_default"), plan);
+    }
+
+    @Test
+    void productExclusionQueryScansOnlyPartitionsOfRange() {
+        String range = literal(CURRENT.atDay(1)) + " AND " + literal(CURRENT.atEndOfMonth());
+        String plan = explain("SELECT o.id FROM orders o WHERE o.order_date BETWEEN " + range + " AND NOT EXISTS "
+                + "(SELECT 1 FROM order_details i WHERE i.order_id = o.id AND i.product_name = 'Product 1' "
+                + "AND i.order_date BETWEEN " + range + ")");
+
+        assertTrue(plan.contains(partition("orders", CURRENT)), plan);
+        assertTrue(plan.contains(partition("order_details", CURRENT)), plan);
+        assertFalse(plan.contains(partition("orders", NEXT)), plan);
+        assertFalse(plan.contains(partition("order_details", NEXT)), plan);
+        assertFalse(plan.contains("_default"), plan);
+    }
+
+    @Test
+    void indexLookupByIdsScansOnlyPartitionsOfRange() {
+        String range = literal(CURRENT.atDay(1)) + " AND " + literal(CURRENT.atEndOfMonth());
+        String orders = explain("SELECT o.id FROM orders o WHERE o.id IN (-2, -4, -6) "
+                + "AND o.order_date BETWEEN " + range);
+        String items = explain("SELECT i.id FROM order_details i WHERE i.order_id IN (-2, -4, -6) "
+                + "AND i.order_date BETWEEN " + range);
+
+        assertTrue(orders.contains(partition("orders", CURRENT)), orders);
+        assertFalse(orders.contains(partition("orders", NEXT)), orders);
+        assertFalse(orders.contains("orders_default"), orders);
+        assertTrue(items.contains(partition("order_details", CURRENT)), items);
+        assertFalse(items.contains(partition("order_details", NEXT)), items);
+        assertFalse(items.contains("order_details_default"), items);
+    }
+
+    @Test
+    void maintenanceCreatesFuturePartitionsAndArchivesOldOnes() {
+        OrdersProperties ordersProperties = new OrdersProperties();
+        ordersProperties.getPartitioning().setMonthsAhead(6);
+        ordersProperties.getPartitioning().setArchiveAfterMonths(12);
+        List<Object> events = new ArrayList<>();
+        OrderPartitionMaintenance maintenance =
+                new OrderPartitionMaintenance(jdbcTemplate, ordersProperties, transactionManager, events::add);
+        YearMonth old = CURRENT.minusMonths(13);
+        maintenance.createPartitions(old);
+        insertOrder(-1000, old.atDay(1));
+
+        maintenance.maintain();
+
+        assertNotNull(regclass(partition("orders", CURRENT.plusMonths(6))));
+        assertNotNull(regclass(partition("order_details", CURRENT.plusMonths(6))));
+        assertNull(regclass(partition("orders", old)));
+        assertNotNull(regclass("orders_archive." + partition("orders", old)));
+        assertNotNull(regclass("orders_archive." + partition("order_details", old)));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM orders WHERE id = -1000", Integer.class));
+        assertEquals(List.of(new OrdersArchivedEvent(CURRENT.minusMonths(12).atDay(1))), events);
+    }
+
+    private void insertOrder(long id, LocalDate date) {
+        jdbcTemplate.update("INSERT INTO orders (id, order_number, total_amount, order_date) VALUES (?, ?, ?, ?)",
+                id, "PARTITION" + id, -id, Date.valueOf(date));
+        jdbcTemplate.update("INSERT INTO order_details (id, product_name, quantity, unit_price, order_id, order_date) "
+                + "VALUES (?, ?, 1, 1, ?, ?)", id, "Product " + (-id % 5), id, Date.valueOf(date));
+    }
+
+    private String explain(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines).toLowerCase();
+    }
+
+    private static String literal(LocalDate date) {
+        return "DATE '" + date + "'";
+    }
+
+    private String regclass(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, name);
+    }
+
+    private static String partition(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.ordersservice.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks on the migrated schema that the list queries of {@link OrderRepository} are planned with the indexes.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 100; i++) {
+            jdbcTemplate.update("INSERT INTO orders (id, order_number, total_amount, order_date) VALUES (?, ?, ?, ?)",
+                    -i, "INDEX-" + i, i, Date.valueOf("2024-12-" + (10 + i % 10)));
+            jdbcTemplate.update("INSERT INTO order_details (id, product_name, quantity, unit_price, order_id) VALUES (?, ?, 1, 1, ?)",
+                    -i, "Product " + i % 5, -i);
+        }
+    }
+
+    @Test
+    void dateAndAmountQueryUsesCompositeIndex() {
+        String plan = explain("SELECT o.id FROM orders o WHERE o.order_date = DATE '2024-12-12' AND o.total_amount >= 10");
+
+        assertTrue(plan.contains("idx_orders_order_date_total_amount"), plan);
+    }
+
+    @Test
+    void productExclusionQueryUsesOrderProductIndex() {
+        String plan = explain("SELECT o.id FROM orders o WHERE o.order_date BETWEEN DATE '2024-12-11' AND DATE '2024-12-13' "
+                + "AND NOT EXISTS (SELECT 1 FROM order_details i WHERE i.order_id = o.id AND i.product_name = 'Product 1')");
+
+        assertTrue(plan.contains("idx_order_details_order_id_product_name"), plan);
+        assertTrue(plan.contains("idx_orders_order_date"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+    }
+}
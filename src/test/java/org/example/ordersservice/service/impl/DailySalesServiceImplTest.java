@@ -0,0 +1,104 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.dto.DailySalesDto;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.PaymentType;
+import org.example.ordersservice.repository.DailySalesRepository;
+import org.example.ordersservice.service.DailySalesService;
+import org.example.ordersservice.service.OrderNumberService;
+import org.example.ordersservice.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DailySalesServiceImplTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DailySalesService dailySalesService;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @Test
+    void createdOrdersAreAddedToRollupAndMatchRebuild() {
+        when(orderNumberService.nextOrderNumber()).thenAnswer(invocation -> UUID.randomUUID().toString());
+        LocalDate today = LocalDate.now();
+        orderService.createOrder(createRequest("10.00", PaymentType.CARD, DeliveryType.PICKUP));
+        // other tests of the shared database may have left figures for today, so start from the stored orders
+        DailySalesDto before = day(dailySalesService.rebuild(today, today), today);
+
+        orderService.createOrder(createRequest("20.50", PaymentType.CASH, DeliveryType.DOOR_DELIVERY));
+        orderService.createOrders(List.of(createRequest("5.25", PaymentType.CARD, DeliveryType.DOOR_DELIVERY)));
+
+        DailySalesDto recorded = day(dailySalesService.getDailySales(today, today), today);
+        assertEquals(before.getOrderCount() + 2, recorded.getOrderCount());
+        assertEquals(before.getRevenue().add(new BigDecimal("25.75")), recorded.getRevenue());
+        assertEquals(before.getByPaymentType().get(PaymentType.CARD).getOrderCount() + 1,
+                recorded.getByPaymentType().get(PaymentType.CARD).getOrderCount());
+        assertEquals(before.getByPaymentType().get(PaymentType.CASH).getRevenue().add(new BigDecimal("20.50")),
+                recorded.getByPaymentType().get(PaymentType.CASH).getRevenue());
+        assertEquals(before.getByDeliveryType().get(DeliveryType.DOOR_DELIVERY).getOrderCount() + 2,
+                recorded.getByDeliveryType().get(DeliveryType.DOOR_DELIVERY).getOrderCount());
+
+        assertEquals(recorded, day(dailySalesService.rebuild(today, today), today));
+    }
+
+    @Test
+    void incrementOfSlotDeletedByRebuildCreatesSlotAgain() {
+        DailySalesRepository repository = mock(DailySalesRepository.class);
+        when(repository.increment(any())).thenReturn(0, 1);
+        DailySalesServiceImpl service =
+                new DailySalesServiceImpl(repository, new OrdersProperties(), mock(JdbcTemplate.class));
+        LocalDate date = LocalDate.of(2024, 5, 1);
+        Order order = new Order();
+        order.setOrderDate(date);
+        order.setTotalAmount(new BigDecimal("10.00"));
+
+        service.recordOrders(List.of(order));
+
+        verify(repository, times(2)).insertIfAbsent(eq(date), anyInt());
+        verify(repository, times(2)).increment(any());
+    }
+
+    private DailySalesDto day(List<DailySalesDto> days, LocalDate date) {
+        assertEquals(1, days.size());
+        assertEquals(date, days.get(0).getDate());
+        return days.get(0);
+    }
+
+    private OrderRequestDto createRequest(String price, PaymentType paymentType, DeliveryType deliveryType) {
+        OrderRequestDto request = new OrderRequestDto();
+        request.setItems(List.of(new OrderDetailsDto(1L, "Laptop", 1, new BigDecimal(price))));
+        request.setRecipient("John Doe");
+        request.setDeliveryAddress("123 Main St");
+        request.setPaymentType(paymentType);
+        request.setDeliveryType(deliveryType);
+        return request;
+    }
+}
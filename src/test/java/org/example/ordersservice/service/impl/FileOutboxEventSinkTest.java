@@ -0,0 +1,52 @@
+package org.example.ordersservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.entity.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileOutboxEventSinkTest {
+    private static final long MAX_FILE_SIZE = 1024;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void fullFilesAreRotatedAndOldestAreDeleted() throws Exception {
+        Path file = directory.resolve("events.ndjson");
+        OrdersProperties ordersProperties = new OrdersProperties();
+        ordersProperties.getOutbox().setFile(file.toString());
+        ordersProperties.getOutbox().setMaxFileSize(DataSize.ofBytes(MAX_FILE_SIZE));
+        ordersProperties.getOutbox().setMaxFiles(2);
+        FileOutboxEventSink sink = new FileOutboxEventSink(ordersProperties, objectMapper);
+
+        for (long id = 1; id <= 100; id++) {
+            sink.publish(List.of(event(id)));
+            assertTrue(Files.size(file) <= MAX_FILE_SIZE);
+        }
+
+        assertTrue(Files.exists(directory.resolve("events.ndjson.1")));
+        assertTrue(Files.exists(directory.resolve("events.ndjson.2")));
+        assertFalse(Files.exists(directory.resolve("events.ndjson.3")));
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(100, objectMapper.readTree(lines.get(lines.size() - 1)).get("id").asLong());
+    }
+
+    private static OutboxEvent event(long id) {
+        return new OutboxEvent(id, OutboxEvent.ORDER_CREATED, id, "{\"orderNumber\":\"" + id + "\"}",
+                Instant.parse("2024-12-12T10:00:00Z"));
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.exception.IdempotencyKeyReusedException;
+import org.example.ordersservice.exception.IdempotentRequestInProgressException;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceImplTest {
+    private static final int CONCURRENT_REQUESTS = 16;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForFirstRequestAndCreateOnce() throws Exception {
+        IdempotencyServiceImpl service = createService(Duration.ofSeconds(5));
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch submitted = new CountDownLatch(CONCURRENT_REQUESTS);
+
+        List<Future<OrderResponseDto>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(executor.submit(() -> {
+                submitted.countDown();
+                return service.createOnce("key-1", createRequest("Laptop"), () -> {
+                    creations.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return createResponse(1L);
+                });
+            }));
+        }
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // give the duplicates time to reach the store while the first request is still running
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<OrderResponseDto> response : responses) {
+            assertEquals(1L, response.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(1, creations.get());
+    }
+
+    @Test
+    void completedResultIsReplayedForSameKey() {
+        IdempotencyServiceImpl service = createService(Duration.ofSeconds(1));
+        AtomicInteger creations = new AtomicInteger();
+
+        OrderResponseDto first = service.createOnce("key-2", createRequest("Laptop"),
+                () -> createResponse(creations.incrementAndGet()));
+        OrderResponseDto second = service.createOnce("key-2", createRequest("Laptop"),
+                () -> createResponse(creations.incrementAndGet()));
+        OrderResponseDto other = service.createOnce("key-3", createRequest("Laptop"),
+                () -> createResponse(creations.incrementAndGet()));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(2, creations.get());
+    }
+
+    @Test
+    void keyReusedWithDifferentRequestIsRejected() {
+        IdempotencyServiceImpl service = createService(Duration.ofSeconds(1));
+        service.createOnce("key-4", createRequest("Laptop"), () -> createResponse(1L));
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> service.createOnce("key-4", createRequest("Mouse"), () -> createResponse(2L)));
+    }
+
+    @Test
+    void keyReusedWithSamePriceAtOtherScaleIsReplayed() {
+        IdempotencyServiceImpl service = createService(Duration.ofSeconds(1));
+        OrderResponseDto first = service.createOnce("key-7", createRequest("Laptop", "10.00"), () -> createResponse(1L));
+
+        OrderResponseDto retried = service.createOnce("key-7", createRequest("Laptop", "10.0"), () -> createResponse(2L));
+
+        assertEquals(first, retried);
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> service.createOnce("key-7", createRequest("Laptop", "10.01"), () -> createResponse(3L)));
+    }
+
+    @Test
+    void failedRequestIsNotRememberedAndCanBeRetried() {
+        IdempotencyServiceImpl service = createService(Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> service.createOnce("key-5", createRequest("Laptop"),
+                () -> {
+                    throw new IllegalStateException("number service down");
+                }));
+        OrderResponseDto retried = service.createOnce("key-5", createRequest("Laptop"), () -> createResponse(5L));
+
+        assertEquals(5L, retried.getId());
+    }
+
+    @Test
+    void duplicateGivesUpWhenFirstRequestRunsTooLong() throws Exception {
+        IdempotencyServiceImpl service = createService(Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<OrderResponseDto> first = executor.submit(() -> service.createOnce("key-6", createRequest("Laptop"), () -> {
+            started.countDown();
+            await(release);
+            return createResponse(6L);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotentRequestInProgressException.class,
+                () -> service.createOnce("key-6", createRequest("Laptop"), () -> createResponse(7L)));
+
+        release.countDown();
+        assertEquals(6L, first.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    private IdempotencyServiceImpl createService(Duration waitTimeout) {
+        OrdersProperties properties = new OrdersProperties();
+        properties.getIdempotency().setMaxKeys(100);
+        properties.getIdempotency().setTtl(Duration.ofMinutes(1));
+        properties.getIdempotency().setWaitTimeout(waitTimeout);
+        return new IdempotencyServiceImpl(properties);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OrderRequestDto createRequest(String productName) {
+        return createRequest(productName, "10.00");
+    }
+
+    private OrderRequestDto createRequest(String productName, String unitPrice) {
+        OrderRequestDto request = new OrderRequestDto();
+        request.setItems(List.of(new OrderDetailsDto(1L, productName, 1, new BigDecimal(unitPrice))));
+        return request;
+    }
+
+    private OrderResponseDto createResponse(long id) {
+        OrderResponseDto response = new OrderResponseDto();
+        response.setId(id);
+        return response;
+    }
+}
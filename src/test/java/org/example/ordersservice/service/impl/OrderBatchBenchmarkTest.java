@@ -0,0 +1,106 @@
+package org.example.ordersservice.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.ordersservice.model.dto.BatchOrderResponseDto;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.PaymentType;
+import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.OrderNumberService;
+import org.example.ordersservice.service.OrderService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the single-order path and the batch path. The JDBC statements and flushes each path needs are counted
+ * with the Hibernate statistics and asserted; the rows written per second are only reported, since they depend on
+ * the machine. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderBatchBenchmarkTest {
+    private static final int ORDERS = 2000;
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @Test
+    void batchPathNeedsFarFewerStatementsAndFlushesThanSingleOrderPath() {
+        when(orderNumberService.nextOrderNumber()).thenAnswer(invocation -> UUID.randomUUID().toString());
+        List<OrderRequestDto> requests = IntStream.range(0, ORDERS).mapToObj(i -> createRequest()).toList();
+
+        // warm up both paths so the JIT and the connection pool do not skew the first measurement
+        requests.subList(0, 200).forEach(orderService::createOrder);
+        orderService.createOrders(requests.subList(0, 200));
+        orderRepository.deleteAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        requests.forEach(orderService::createOrder);
+        double singleRowsPerSecond = rowsPerSecond(System.nanoTime() - start);
+        long singleStatements = statistics.getPrepareStatementCount();
+        long singleFlushes = statistics.getFlushCount();
+        orderRepository.deleteAll();
+
+        statistics.clear();
+        start = System.nanoTime();
+        BatchOrderResponseDto response = orderService.createOrders(requests);
+        double batchRowsPerSecond = rowsPerSecond(System.nanoTime() - start);
+        long batchStatements = statistics.getPrepareStatementCount();
+        long batchFlushes = statistics.getFlushCount();
+
+        System.out.printf("single-order path: %d statements, %d flushes, %.0f rows/s%n",
+                singleStatements, singleFlushes, singleRowsPerSecond);
+        System.out.printf("batch path: %d statements, %d flushes, %.0f rows/s%n",
+                batchStatements, batchFlushes, batchRowsPerSecond);
+        assertEquals(ORDERS, response.getCreated().size());
+        assertTrue(response.getErrors().isEmpty());
+        // one transaction per order against one JDBC batch per chunk of orders
+        assertTrue(singleFlushes >= ORDERS, () -> "single-order path flushed " + singleFlushes + " times");
+        assertTrue(batchFlushes * 10 < singleFlushes,
+                () -> "batch path flushed " + batchFlushes + " times, single-order path " + singleFlushes + " times");
+        assertTrue(batchStatements * 5 < singleStatements,
+                () -> "batch path prepared " + batchStatements + " statements, single-order path " + singleStatements);
+    }
+
+    private double rowsPerSecond(long nanos) {
+        return ORDERS * (1 + ITEMS_PER_ORDER) / (nanos / 1_000_000_000.0);
+    }
+
+    private OrderRequestDto createRequest() {
+        List<OrderDetailsDto> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            items.add(new OrderDetailsDto((long) i, "Product " + i, 1 + i, BigDecimal.valueOf(10 + i)));
+        }
+        return new OrderRequestDto(items, "Recipient", "Address", PaymentType.CARD, DeliveryType.DOOR_DELIVERY);
+    }
+}
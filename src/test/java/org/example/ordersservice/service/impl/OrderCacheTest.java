@@ -0,0 +1,101 @@
+package org.example.ordersservice.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ordersservice.config.CachingConfig;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.OrderNumberService;
+import org.example.ordersservice.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderCacheTest {
+    private static final Long TEST_ORDER_ID = 42L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private OrderRepository orderRepository;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CachingConfig.ORDERS_CACHE).clear();
+    }
+
+    @Test
+    void getOrderByIdServesRepeatedReadsFromCache() {
+        when(orderRepository.findById(TEST_ORDER_ID)).thenReturn(Optional.of(createTestOrder()));
+        double hitsBefore = cacheGets("hit");
+
+        OrderResponseDto first = orderService.getOrderById(TEST_ORDER_ID);
+        OrderResponseDto second = orderService.getOrderById(TEST_ORDER_ID);
+
+        assertEquals(first, second);
+        verify(orderRepository, times(1)).findById(TEST_ORDER_ID);
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+    }
+
+    @Test
+    void createOrderPopulatesCache() {
+        when(orderNumberService.nextOrderNumber()).thenReturn("1111120241212");
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(TEST_ORDER_ID);
+            return order;
+        });
+        OrderRequestDto request = new OrderRequestDto();
+        request.setItems(List.of(new OrderDetailsDto(1L, "Laptop", 1, BigDecimal.valueOf(100))));
+
+        OrderResponseDto created = orderService.createOrder(request);
+        OrderResponseDto read = orderService.getOrderById(TEST_ORDER_ID);
+
+        assertEquals(created, read);
+        verify(orderRepository, never()).findById(anyLong());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", CachingConfig.ORDERS_CACHE, "result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private Order createTestOrder() {
+        Order order = new Order();
+        order.setId(TEST_ORDER_ID);
+        order.setOrderNumber("1111120241212");
+        order.setOrderDate(LocalDate.of(2024, 12, 12));
+        order.setTotalAmount(BigDecimal.valueOf(100));
+        return order;
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.exception.ExportNotFoundException;
+import org.example.ordersservice.model.dto.ExportStatusDto;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.OrderDetails;
+import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.OrderExportService;
+import org.example.ordersservice.service.OrderNumberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"orders.export.chunk-size=7", "orders.export.workers=3"})
+@ActiveProfiles("test")
+class OrderExportServiceImplTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2019, 6, 1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @Test
+    void exportWritesEveryOrderAndItemOnceAndResumesMissingChunks() throws IOException {
+        List<Long> expectedIds = new ArrayList<>();
+        for (Order order : orderRepository.saveAll(createOrders(50))) {
+            if (!order.getOrderDate().isAfter(FIRST_DAY.plusDays(9))) {
+                expectedIds.add(order.getId());
+            }
+        }
+
+        ExportStatusDto started = orderExportService.startExport(FIRST_DAY, FIRST_DAY.plusDays(9));
+        ExportStatusDto finished = orderExportService.awaitExport(started.getId(), TIMEOUT);
+
+        assertEquals(ExportStatusDto.State.COMPLETED, finished.getState());
+        assertEquals(finished.getTotalChunks(), finished.getCompletedChunks());
+        assertEquals(expectedIds.size(), finished.getOrdersWritten());
+        assertEquals(expectedIds.size() * 2L, finished.getItemsWritten());
+        Path directory = Paths.get(finished.getDirectory());
+        assertEquals(expectedIds, readIds(directory, "orders-"));
+        assertEquals(expectedIds.size() * 2, readIds(directory, "order_details-").size());
+
+        Files.delete(directory.resolve("_SUCCESS"));
+        Files.delete(directory.resolve("orders-00001.csv.gz"));
+        Files.delete(directory.resolve("order_details-00001.csv.gz"));
+        List<String> checkpoint = Files.readAllLines(directory.resolve("chunks.done"));
+        Files.write(directory.resolve("chunks.done"),
+                checkpoint.stream().filter(line -> !line.startsWith("1 ")).toList());
+
+        orderExportService.resumeExport(started.getId());
+        ExportStatusDto resumed = orderExportService.awaitExport(started.getId(), TIMEOUT);
+
+        assertEquals(ExportStatusDto.State.COMPLETED, resumed.getState());
+        assertEquals(finished.getOrdersWritten(), resumed.getOrdersWritten());
+        assertEquals(expectedIds, readIds(directory, "orders-"));
+    }
+
+    @Test
+    void unknownExportIsNotFound() {
+        assertThrows(ExportNotFoundException.class,
+                () -> orderExportService.getExportStatus("00000000-0000-0000-0000-000000000000"));
+        assertThrows(ExportNotFoundException.class, () -> orderExportService.getExportStatus("../target"));
+    }
+
+    private List<Order> createOrders(int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setOrderNumber("export-" + i);
+            order.setOrderDate(FIRST_DAY.plusDays(i % 15));
+            order.setTotalAmount(BigDecimal.TEN);
+            order.setRecipient("Doe, \"Jane\"");
+            order.addItem(new OrderDetails(null, 1L, "Laptop", 1, BigDecimal.ONE, null, null));
+            order.addItem(new OrderDetails(null, 2L, "Mouse, wireless", 1, BigDecimal.ONE, null, null));
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * Reads the first column of every data row of the files with the given prefix, in file order.
+     */
+    private List<Long> readIds(Path directory, String prefix) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        List<Path> files;
+        try (Stream<Path> children = Files.list(directory)) {
+            files = children.filter(file -> file.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+        for (Path file : files) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                reader.readLine();
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    ids.add(Long.parseLong(line.substring(0, line.indexOf(','))));
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.ordersservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.PaymentType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderIngestionJournalTest {
+    private static final long COMPACTION_SIZE = 4096;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void journalStaysBoundedWhileOrdersRemainOutstanding() throws Exception {
+        Path file = directory.resolve("orders.journal");
+        try (OrderIngestionJournal journal = new OrderIngestionJournal(file, objectMapper, COMPACTION_SIZE)) {
+            journal.open();
+            journal.append(order("held"));
+            for (int i = 0; i < 1000; i++) {
+                journal.append(order(String.valueOf(i)));
+                journal.markPersisted(List.of(String.valueOf(i)));
+                assertTrue(journal.size() < 2 * COMPACTION_SIZE, () -> "Journal grew to " + journal.size() + " bytes");
+            }
+            assertEquals(journal.size(), Files.size(file));
+        }
+
+        try (OrderIngestionJournal reopened = new OrderIngestionJournal(file, objectMapper, COMPACTION_SIZE)) {
+            assertEquals(List.of("held"), reopened.open().stream().map(IngestedOrder::orderNumber).toList());
+        }
+    }
+
+    private static IngestedOrder order(String orderNumber) {
+        return new IngestedOrder(orderNumber, LocalDate.of(2024, 12, 12), new OrderRequestDto(
+                List.of(new OrderDetailsDto(1L, "Laptop", 1, BigDecimal.TEN)),
+                "Recipient", "Address", PaymentType.CARD, DeliveryType.PICKUP));
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.ordersservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.exception.IngestionQueueFullException;
+import org.example.ordersservice.exception.InvalidOrderException;
+import org.example.ordersservice.exception.OrderNotFoundException;
+import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderStatusDto;
+import org.example.ordersservice.model.entity.DeliveryType;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.PaymentType;
+import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.OrderNumberService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderIngestionServiceImplTest {
+
+    @TempDir
+    private Path directory;
+
+    private final OrderNumberService orderNumberService = mock(OrderNumberService.class);
+    private final OrderWriter orderWriter = mock(OrderWriter.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final List<OrderIngestionServiceImpl> services = new ArrayList<>();
+    private OrdersProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrdersProperties();
+        OrdersProperties.Ingestion ingestion = properties.getIngestion();
+        ingestion.setEnabled(true);
+        ingestion.setWriters(1);
+        ingestion.setOfferTimeout(Duration.ofMillis(10));
+        ingestion.setRetryBackoff(Duration.ofMillis(10));
+        ingestion.setJournal(directory.resolve("orders.journal").toString());
+        ingestion.setDeadLetterFile(directory.resolve("orders.dead-letter.ndjson").toString());
+        when(orderNumberService.nextOrderNumber()).thenReturn("1", "2", "3");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (OrderIngestionServiceImpl service : services) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void acceptedOrdersAreStoredAndReportedPersisted() throws Exception {
+        when(orderRepository.findIdByOrderNumber("1")).thenReturn(Optional.of(10L));
+        OrderIngestionServiceImpl service = start();
+
+        OrderStatusDto accepted = service.accept(request());
+
+        assertEquals(new OrderStatusDto("1", OrderStatusDto.Status.QUEUED, null), accepted);
+        ArgumentCaptor<List<Order>> stored = captor();
+        verify(orderWriter, timeout(5000)).saveAll(stored.capture());
+        Order order = stored.getValue().get(0);
+        assertEquals("1", order.getOrderNumber());
+        assertEquals(0, new BigDecimal("200.00").compareTo(order.getTotalAmount()));
+        assertEquals(new OrderStatusDto("1", OrderStatusDto.Status.PERSISTED, 10L), awaitStored(service, "1"));
+    }
+
+    @Test
+    void journaledOrdersAreReplayedOnceAfterRestart() throws Exception {
+        when(orderWriter.saveAll(anyList())).thenThrow(new CannotCreateTransactionException("Database unavailable"));
+        OrderIngestionServiceImpl failing = start();
+        failing.accept(request());
+        failing.accept(request());
+        verify(orderWriter, timeout(5000).atLeastOnce()).saveAll(anyList());
+        failing.stop();
+        services.remove(failing);
+
+        OrderWriter recoveredWriter = mock(OrderWriter.class);
+        when(orderRepository.findExistingOrderNumbers(anyList())).thenReturn(List.of("1"));
+        OrderIngestionServiceImpl restarted = start(recoveredWriter);
+
+        ArgumentCaptor<List<Order>> stored = captor();
+        verify(recoveredWriter, timeout(5000)).saveAll(stored.capture());
+        assertEquals(List.of("2"), stored.getValue().stream().map(Order::getOrderNumber).toList());
+        when(orderRepository.findIdByOrderNumber(anyString())).thenReturn(Optional.of(20L));
+        awaitStored(restarted, "2");
+    }
+
+    @Test
+    void orderThatCannotBeStoredIsDeadLetteredWithoutHoldingBackOthers() throws Exception {
+        List<String> stored = new CopyOnWriteArrayList<>();
+        when(orderWriter.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.getOrderNumber().equals("2"))) {
+                throw new DataIntegrityViolationException("Check constraint violated");
+            }
+            orders.forEach(order -> stored.add(order.getOrderNumber()));
+            return orders;
+        });
+        when(orderRepository.findIdByOrderNumber("1")).thenReturn(Optional.of(10L));
+        when(orderRepository.findIdByOrderNumber("3")).thenReturn(Optional.of(30L));
+        OrderIngestionServiceImpl service = start();
+
+        service.accept(request());
+        service.accept(request());
+        service.accept(request());
+
+        awaitStored(service, "1");
+        awaitStored(service, "3");
+        Path deadLetterFile = Path.of(properties.getIngestion().getDeadLetterFile());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ((!Files.exists(deadLetterFile) || Files.size(deadLetterFile) == 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        List<String> deadLettered = Files.readAllLines(deadLetterFile);
+        assertEquals(1, deadLettered.size());
+        assertEquals("2", new ObjectMapper().readTree(deadLettered.get(0)).path("order").path("orderNumber").asText());
+        assertEquals(List.of("1", "3"), stored.stream().sorted().toList());
+        assertThrows(OrderNotFoundException.class, () -> service.getStatus("2"));
+    }
+
+    @Test
+    void fullQueueRejectsOrders() throws Exception {
+        properties.getIngestion().setQueueCapacity(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderWriter.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return invocation.getArgument(0);
+        });
+        OrderIngestionServiceImpl service = start();
+
+        service.accept(request());
+        assertThrows(IngestionQueueFullException.class, () -> service.accept(request()));
+        release.countDown();
+    }
+
+    @Test
+    void invalidOrderIsRejectedWithoutNumber() throws Exception {
+        OrderIngestionServiceImpl service = start();
+
+        assertThrows(InvalidOrderException.class, () -> service.accept(new OrderRequestDto()));
+        verify(orderNumberService, never()).nextOrderNumber();
+    }
+
+    private OrderIngestionServiceImpl start() throws Exception {
+        return start(orderWriter);
+    }
+
+    private OrderIngestionServiceImpl start(OrderWriter writer) throws Exception {
+        OrderIngestionServiceImpl service = new OrderIngestionServiceImpl(orderNumberService, OrderMapper.INSTANCE,
+                writer, orderRepository, properties, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry());
+        service.start();
+        services.add(service);
+        return service;
+    }
+
+    private OrderStatusDto awaitStored(OrderIngestionServiceImpl service, String orderNumber) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            OrderStatusDto status = service.getStatus(orderNumber);
+            if (status.getStatus() == OrderStatusDto.Status.PERSISTED) {
+                return status;
+            }
+            assertNull(status.getId());
+            Thread.sleep(10);
+        }
+        return fail("Order " + orderNumber + " was not stored");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Order>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static OrderRequestDto request() {
+        return new OrderRequestDto(List.of(new OrderDetailsDto(1L, "Laptop", 2, new BigDecimal("100"))),
+                "Recipient", "Address", PaymentType.CARD, DeliveryType.PICKUP);
+    }
+}
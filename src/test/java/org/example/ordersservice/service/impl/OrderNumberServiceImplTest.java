@@ -0,0 +1,154 @@
+package org.example.ordersservice.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.example.ordersservice.client.NumberGenerateClient;
+import org.example.ordersservice.config.AppConfig;
+import org.example.ordersservice.config.NumberGenerateServiceProperties;
+import org.example.ordersservice.exception.NumberGenerateServiceUnavailableException;
+import org.example.ordersservice.support.NumberGenerateServiceStub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderNumberServiceImplTest {
+
+    private NumberGenerateServiceStub stub;
+    private MeterRegistry meterRegistry;
+    private NumberGenerateServiceProperties properties;
+    private final List<CloseableHttpAsyncClient> httpClients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        stub = NumberGenerateServiceStub.start();
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new NumberGenerateServiceProperties();
+        properties.setUrl(stub.url());
+        properties.getPool().setLowWatermark(5);
+        properties.getPool().setHighWatermark(20);
+        properties.getPool().setBatchSize(10);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (CloseableHttpAsyncClient httpClient : httpClients) {
+            httpClient.close();
+        }
+        stub.close();
+    }
+
+    @Test
+    void nextOrderNumberServesUniqueNumbersFromPool() {
+        OrderNumberServiceImpl service = createService(Duration.ofSeconds(2));
+        service.warmUp();
+
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(issued.add(service.nextOrderNumber()));
+        }
+        service.shutdown();
+
+        assertTrue(meterRegistry.get("orders.number.pool.refill").timer().count() > 0);
+        assertNotNull(meterRegistry.find("orders.number.pool.size").gauge());
+    }
+
+    @Test
+    void nextOrderNumberFailsWhenNumberServiceUnavailable() {
+        stub.respondWith(500);
+        OrderNumberServiceImpl service = createService(Duration.ofMillis(200));
+
+        RuntimeException exception = assertThrows(NumberGenerateServiceUnavailableException.class, service::nextOrderNumber);
+        service.shutdown();
+
+        assertTrue(exception.getMessage().contains("Failed to get order number"));
+        assertEquals(1.0, meterRegistry.get("orders.number.pool.exhausted").counter().count());
+    }
+
+    @Test
+    void nextOrderNumberAsyncWaitsForRefillWhenPoolIsEmpty() {
+        OrderNumberServiceImpl service = createService(Duration.ofSeconds(2));
+
+        String number = service.nextOrderNumberAsync().join();
+        service.shutdown();
+
+        assertNotNull(number);
+        assertEquals(1.0, meterRegistry.get("orders.number.pool.exhausted").counter().count());
+    }
+
+    @Test
+    void nextOrderNumberAsyncIsServedWhilePoolIsEmptyAndRefillInFlight() {
+        stub.delay(Duration.ofMillis(100));
+        properties.getResilience().setMaxConcurrentCalls(4);
+        properties.getPool().setMaxInFlight(2);
+        OrderNumberServiceImpl service = createService(Duration.ofSeconds(5));
+        service.warmUp();
+
+        List<CompletableFuture<String>> numbers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            numbers.add(service.nextOrderNumberAsync());
+        }
+        Set<String> issued = new HashSet<>();
+        for (CompletableFuture<String> number : numbers) {
+            assertTrue(issued.add(number.join()));
+        }
+        service.shutdown();
+
+        assertEquals(8.0, meterRegistry.get("orders.number.pool.exhausted").counter().count());
+        assertEquals(0.0, meterRegistry.get("orders.number.bulkhead.rejected").counter().count());
+        assertEquals(0.0, meterRegistry.get("orders.number.pool.refill.failures").counter().count());
+    }
+
+    @Test
+    void nextOrderNumberAsyncFailsWhenNoNumberArrivesInTime() {
+        stub.respondWith(500);
+        OrderNumberServiceImpl service = createService(Duration.ofMillis(200));
+
+        CompletableFuture<String> number = service.nextOrderNumberAsync();
+
+        CompletionException exception = assertThrows(CompletionException.class, number::join);
+        service.shutdown();
+        assertInstanceOf(NumberGenerateServiceUnavailableException.class, exception.getCause());
+    }
+
+    @Test
+    void constructorRejectsRefillThatCouldFillTheBulkhead() {
+        properties.getResilience().setMaxConcurrentCalls(10);
+        properties.getPool().setMaxInFlight(6);
+
+        assertThrows(IllegalArgumentException.class, () -> createService(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void pooledNumbersAreNotReissuedAfterRestart() {
+        OrderNumberServiceImpl beforeRestart = createService(Duration.ofSeconds(2));
+        Set<String> issued = new HashSet<>();
+        issued.add(beforeRestart.nextOrderNumber());
+        beforeRestart.shutdown();
+
+        OrderNumberServiceImpl afterRestart = createService(Duration.ofSeconds(2));
+        for (int i = 0; i < 30; i++) {
+            assertTrue(issued.add(afterRestart.nextOrderNumber()));
+        }
+        afterRestart.shutdown();
+    }
+
+    private OrderNumberServiceImpl createService(Duration acquireTimeout) {
+        properties.getPool().setAcquireTimeout(acquireTimeout);
+        CloseableHttpAsyncClient httpClient = new AppConfig().numberGenerateHttpClient(properties);
+        httpClients.add(httpClient);
+        NumberGenerateClient client = new NumberGenerateClient(httpClient, properties, meterRegistry);
+        return new OrderNumberServiceImpl(client, properties, meterRegistry);
+    }
+}
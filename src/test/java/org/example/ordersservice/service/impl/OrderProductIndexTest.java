@@ -0,0 +1,233 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.entity.Order;
+import org.example.ordersservice.model.entity.OrderDetails;
+import org.example.ordersservice.model.event.OrdersArchivedEvent;
+import org.example.ordersservice.model.event.OrdersCreatedEvent;
+import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.OrderNumberService;
+import org.example.ordersservice.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderProductIndexTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2021, 3, 1);
+    private static final List<String> PRODUCTS = List.of("Laptop", "Mouse", "Keyboard", "Cable", "Monitor");
+
+    @Autowired
+    private OrderProductIndex orderProductIndex;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @Test
+    void indexAnswersLikeSqlAfterRebuildAndAfterCreate() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Order order = new Order();
+            order.setOrderNumber("index-" + i);
+            order.setOrderDate(FIRST_DAY.plusDays(i % 45));
+            order.setTotalAmount(BigDecimal.TEN);
+            for (int p = 0; p < PRODUCTS.size(); p++) {
+                if ((i + p) % (p + 2) == 0) {
+                    order.addItem(new OrderDetails(null, (long) p, PRODUCTS.get(p), 1, BigDecimal.TEN, null, null));
+                }
+            }
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+
+        orderProductIndex.rebuild();
+
+        assertTrue(orderProductIndex.isReady());
+        for (String product : List.of("Laptop", "Mouse", "Monitor", "Unknown")) {
+            assertSameAsSql(product, FIRST_DAY, FIRST_DAY.plusDays(44));
+            assertSameAsSql(product, FIRST_DAY.plusDays(10), FIRST_DAY.plusDays(20));
+            assertSameAsSql(product, FIRST_DAY.plusDays(7), FIRST_DAY.plusDays(7));
+        }
+        assertEquals(0, orderProductIndex.findOrderIdsWithoutProduct("Laptop", FIRST_DAY.plusDays(1), FIRST_DAY).length);
+
+        when(orderNumberService.nextOrderNumber()).thenAnswer(invocation -> UUID.randomUUID().toString());
+        OrderResponseDto created = orderService.createOrder(createRequest("Mouse"));
+        LocalDate today = created.getOrderDate();
+
+        assertSameAsSql("Laptop", today, today);
+        assertSameAsSql("Mouse", today, today);
+        List<Long> withoutLaptop = orderService.getOrdersWithoutProductAndBetweenDates("Laptop", today, today).stream()
+                .map(OrderResponseDto::getId)
+                .toList();
+        assertTrue(withoutLaptop.contains(created.getId()));
+    }
+
+    @Test
+    void ordersStoredElsewhereAreFoundBeforeAndAfterTheirDayIsOver() {
+        LocalDate today = LocalDate.now();
+        orderProductIndex.rebuild();
+        try {
+            // stored without an OrdersCreatedEvent, as by another instance
+            Order storedElsewhere = orderRepository.save(createOrder("elsewhere-1", today, "Cable"));
+
+            assertTrue(Arrays.stream(orderProductIndex.findOrderIdsWithoutProduct("Laptop", today, today))
+                    .anyMatch(id -> id == storedElsewhere.getId()));
+            OrderProductIndex.ProductSearchHits cableHits = orderProductIndex.searchOrderIdsByProduct("cable", 0, 100);
+            assertEquals(List.of(storedElsewhere.getId()), Arrays.stream(cableHits.orderIds()).boxed()
+                    .filter(id -> id.equals(storedElsewhere.getId()))
+                    .toList());
+            assertFalse(cableHits.endDate().isBefore(today));
+
+            orderProductIndex.catchUp(today.plusDays(2));
+            Order storedAfterCatchUp = orderRepository.save(createOrder("elsewhere-2", today, "Cable"));
+
+            // today is now answered from the index, which read the first order and not the later one
+            long[] withoutLaptop = orderProductIndex.findOrderIdsWithoutProduct("Laptop", today, today);
+            assertTrue(Arrays.stream(withoutLaptop).anyMatch(id -> id == storedElsewhere.getId()));
+            assertTrue(Arrays.stream(withoutLaptop).noneMatch(id -> id == storedAfterCatchUp.getId()));
+        } finally {
+            orderProductIndex.rebuild();
+        }
+    }
+
+    @Test
+    void dayReceivingLateOrderIsReadAgainWithOrdersStoredElsewhere() {
+        LocalDate day = LocalDate.of(2019, 6, 1);
+        orderProductIndex.rebuild();
+        // stored without an OrdersCreatedEvent, as by another instance
+        Order storedElsewhere = orderRepository.save(createOrder("late-elsewhere", day, "Cable"));
+        Order storedHere = orderRepository.save(createOrder("late-here", day, "Cable"));
+
+        orderProductIndex.onOrdersCreated(new OrdersCreatedEvent(List.of(storedHere)));
+
+        assertEquals(List.of(storedHere.getId()), ids(orderProductIndex.findOrderIdsWithoutProduct("Laptop", day, day)));
+
+        orderProductIndex.refresh();
+
+        assertSameAsSql("Laptop", day, day);
+        assertEquals(List.of(storedElsewhere.getId(), storedHere.getId()),
+                ids(orderProductIndex.findOrderIdsWithoutProduct("Laptop", day, day)));
+    }
+
+    @Test
+    void archivedDaysAreDroppedFromIndex() {
+        LocalDate archivedDay = LocalDate.of(2018, 1, 10);
+        LocalDate keptDay = LocalDate.of(2018, 2, 10);
+        Order archived = orderRepository.save(createOrder("archived-1", archivedDay, "Archived Widget"));
+        Order kept = orderRepository.save(createOrder("archived-2", keptDay, "Archived Widget"));
+        orderProductIndex.rebuild();
+
+        orderProductIndex.onOrdersArchived(new OrdersArchivedEvent(LocalDate.of(2018, 2, 1)));
+
+        assertEquals(List.of(kept.getId()), ids(orderProductIndex.findOrderIdsWithoutProduct("Laptop", archivedDay, keptDay)));
+        OrderProductIndex.ProductSearchHits hits = orderProductIndex.searchOrderIdsByProduct("archived widget", 0, 10);
+        assertEquals(List.of(kept.getId()), ids(hits.orderIds()));
+        assertEquals(keptDay, hits.startDate());
+
+        orderProductIndex.rebuild();
+
+        assertTrue(ids(orderProductIndex.findOrderIdsWithoutProduct("Laptop", archivedDay, archivedDay))
+                .stream().noneMatch(id -> id.equals(archived.getId())));
+    }
+
+    @Test
+    void searchRanksLikeSql() {
+        List<String> products = List.of("Trackball", "Trackball Pro", "Wireless Trackball", "Mini-trackball",
+                "Trackpad 50%", "Trackpad 500");
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Order order = new Order();
+            order.setOrderNumber("search-" + i);
+            order.setOrderDate(FIRST_DAY);
+            order.setTotalAmount(BigDecimal.TEN);
+            order.addItem(new OrderDetails(null, 1L, products.get(i % products.size()), 1, BigDecimal.TEN, null, null));
+            if (i % 4 == 0) {
+                order.addItem(new OrderDetails(null, 2L, products.get((i + 1) % products.size()), 1, BigDecimal.TEN, null, null));
+            }
+            orders.add(order);
+        }
+        List<Long> trackpad50 = orderRepository.saveAll(orders).stream()
+                .filter(order -> order.getItems().stream().anyMatch(item -> item.getProductName().equals("Trackpad 50%")))
+                .map(Order::getId)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        orderProductIndex.rebuild();
+
+        for (String term : List.of("trackball", "track", "ball", "pro", "50%", "ck", "zzz")) {
+            for (int page = 0; page < 4; page++) {
+                assertSameSearchAsSql(term, page, 7);
+            }
+        }
+        OrderProductIndex.ProductSearchHits trackpad50Hits = orderProductIndex.searchOrderIdsByProduct("50%", 0, 100);
+        assertEquals(trackpad50, Arrays.stream(trackpad50Hits.orderIds()).boxed().toList());
+        assertEquals(FIRST_DAY, trackpad50Hits.startDate());
+        assertEquals(FIRST_DAY, trackpad50Hits.endDate());
+    }
+
+    private void assertSameSearchAsSql(String term, int page, int size) {
+        String escaped = OrderServiceImpl.escapeLike(term);
+        List<Long> expected = orderRepository.searchOrderIdsByProduct(term, escaped + "%", "% " + escaped + "%",
+                "%" + escaped + "%", PageRequest.of(page, size));
+        OrderProductIndex.ProductSearchHits hits = orderProductIndex.searchOrderIdsByProduct(term, (long) page * size, size);
+
+        assertEquals(expected, Arrays.stream(hits.orderIds()).boxed().toList(), () -> "Search for " + term + ", page " + page);
+        assertEquals(orderRepository.countOrdersByProduct("%" + escaped + "%"), hits.total());
+    }
+
+    private void assertSameAsSql(String productName, LocalDate startDate, LocalDate endDate) {
+        List<Long> expected = orderRepository.findSummariesWithoutProductAndBetweenDates(productName, startDate, endDate)
+                .stream()
+                .map(OrderResponseDto::getId)
+                .sorted()
+                .toList();
+        List<Long> actual = Arrays.stream(orderProductIndex.findOrderIdsWithoutProduct(productName, startDate, endDate))
+                .boxed()
+                .toList();
+        assertEquals(expected, actual, () -> "Orders without " + productName + " between " + startDate + " and " + endDate);
+    }
+
+    private static List<Long> ids(long[] orderIds) {
+        return Arrays.stream(orderIds).boxed().toList();
+    }
+
+    private Order createOrder(String orderNumber, LocalDate orderDate, String productName) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setOrderDate(orderDate);
+        order.setTotalAmount(BigDecimal.TEN);
+        order.addItem(new OrderDetails(null, 1L, productName, 1, BigDecimal.TEN, null, null));
+        return order;
+    }
+
+    private OrderRequestDto createRequest(String productName) {
+        OrderRequestDto request = new OrderRequestDto();
+        request.setItems(List.of(new OrderDetailsDto(1L, productName, 1, BigDecimal.TEN)));
+        return request;
+    }
+}
@@ -1,31 +1,43 @@
 package org.example.ordersservice.service.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.exception.OrderCreationRejectedException;
+import org.example.ordersservice.exception.OrderNotFoundException;
+import org.example.ordersservice.exception.InvalidCursorException;
 import org.example.ordersservice.mapper.OrderMapper;
+import org.example.ordersservice.model.dto.BatchOrderResponseDto;
 import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderItemRow;
+import org.example.ordersservice.model.dto.OrderPageDto;
 import org.example.ordersservice.model.dto.OrderRequestDto;
 import org.example.ordersservice.model.dto.OrderResponseDto;
 import org.example.ordersservice.model.entity.Order;
 import org.example.ordersservice.model.entity.OrderDetails;
 import org.example.ordersservice.repository.OrderRepository;
+import org.example.ordersservice.service.OrderNumberService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,7 +50,23 @@ class OrderServiceImplTest {
     private OrderMapper orderMapper;
 
     @Mock
-    private RestTemplate restTemplate;
+    private OrderNumberService orderNumberService;
+
+    @Mock
+    private OrderWriter orderWriter;
+
+    @Mock
+    private OrderProductIndex orderProductIndex;
+
+    @Spy
+    private QueryCoalescer queryCoalescer =
+            new QueryCoalescer(new OrdersProperties(), mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrdersProperties ordersProperties = new OrdersProperties();
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -51,33 +79,32 @@ class OrderServiceImplTest {
         OrderRequestDto request = createTestRequest();
         Order mockOrder = createTestOrder();
         OrderResponseDto expectedResponse = createTestResponse();
-        OrderDetails mockOrderDetails = new OrderDetails(1L, 1L, "Laptop", 1, new BigDecimal(100), mockOrder);
+        OrderDetails mockOrderDetails = new OrderDetails(1L, 1L, "Laptop", 1, new BigDecimal(100), mockOrder, null);
         OrderDetailsDto mockOrderDetailsDto = new OrderDetailsDto(1L, "Laptop", 1, new BigDecimal(100));
 
         List<OrderDetailsDto> items = new ArrayList<>();
         items.add(mockOrderDetailsDto);
         request.setItems(items);
 
-        when(restTemplate.getForEntity(anyString(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(TEST_ORDER_NUMBER, HttpStatus.OK));
+        when(orderNumberService.nextOrderNumber()).thenReturn(TEST_ORDER_NUMBER);
         when(orderMapper.toEntity(any(OrderRequestDto.class))).thenReturn(mockOrder);
         when(orderMapper.toEntity(any(OrderDetailsDto.class))).thenReturn(mockOrderDetails);
-        when(orderRepository.save(any(Order.class))).thenReturn(mockOrder);
+        when(orderWriter.save(any(Order.class))).thenReturn(mockOrder);
         when(orderMapper.toResponseDto(any(Order.class))).thenReturn(expectedResponse);
 
         OrderResponseDto result = orderService.createOrder(request);
 
         assertNotNull(result);
         assertEquals(TEST_ORDER_NUMBER, mockOrder.getOrderNumber());
-        verify(orderRepository).save(mockOrder);
+        verify(orderWriter).save(mockOrder);
     }
 
     @Test
     void createOrderFailedToGetOrderNumber() {
         OrderRequestDto request = createTestRequest();
 
-        when(restTemplate.getForEntity(anyString(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(orderNumberService.nextOrderNumber())
+                .thenThrow(new RuntimeException("Failed to get order number from number-generate-service"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> orderService.createOrder(request));
@@ -85,6 +112,43 @@ class OrderServiceImplTest {
         assertTrue(exception.getMessage().contains("Failed to get order number"));
     }
 
+    @Test
+    void createOrderAsyncRejectsOrderWithoutNumberWithinTimeout() {
+        ordersProperties.getCreate().setTimeout(Duration.ofMillis(50));
+        when(orderNumberService.nextOrderNumberAsync()).thenReturn(new CompletableFuture<>());
+
+        CompletableFuture<OrderResponseDto> result = orderService.createOrderAsync(createTestRequest());
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(OrderCreationRejectedException.class, exception.getCause());
+        verifyNoInteractions(orderWriter);
+    }
+
+    @Test
+    void createOrdersReportsRejectedOrdersByIndex() {
+        OrderRequestDto valid = createTestRequest();
+        valid.setItems(List.of(new OrderDetailsDto(1L, "Laptop", 2, new BigDecimal(100))));
+        OrderRequestDto withoutItems = new OrderRequestDto();
+        Order mockOrder = createTestOrder();
+        OrderResponseDto expectedResponse = createTestResponse();
+
+        when(orderNumberService.nextOrderNumber()).thenReturn(TEST_ORDER_NUMBER);
+        when(orderMapper.toEntity(any(OrderRequestDto.class))).thenReturn(mockOrder);
+        when(orderMapper.toEntity(any(OrderDetailsDto.class)))
+                .thenReturn(new OrderDetails(null, 1L, "Laptop", 2, new BigDecimal(100), null, null));
+        when(orderWriter.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.toResponseDtoList(anyList())).thenReturn(List.of(expectedResponse));
+
+        BatchOrderResponseDto result = orderService.createOrders(List.of(valid, withoutItems));
+
+        assertEquals(1, result.getCreated().size());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertEquals(new BigDecimal("200.00"), mockOrder.getTotalAmount());
+        verify(orderWriter).saveAll(List.of(mockOrder));
+        verify(orderNumberService, times(1)).nextOrderNumber();
+    }
+
     @Test
     void getOrderByIdSuccess() {
         Order mockOrder = createTestOrder();
@@ -103,27 +167,29 @@ class OrderServiceImplTest {
     void getOrderByIdNotFound() {
         when(orderRepository.findById(TEST_ORDER_ID)).thenReturn(Optional.empty());
 
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        OrderNotFoundException exception = assertThrows(OrderNotFoundException.class,
                 () -> orderService.getOrderById(TEST_ORDER_ID));
 
-        assertEquals("Order not found", exception.getMessage());
+        assertEquals("Order 1 not found", exception.getMessage());
     }
 
     @Test
     void getOrdersByDateAndAmountSuccess() {
         LocalDate date = LocalDate.now();
         BigDecimal amount = BigDecimal.valueOf(100);
-        Order mockOrder = createTestOrder();
-        OrderResponseDto mockResponse = createTestResponse();
 
-        when(orderRepository.findByOrderDateAndTotalAmountGreaterThanEqual(date, amount))
-                .thenReturn(Collections.singletonList(mockOrder));
-        when(orderMapper.toResponseDtoList(anyList())).thenReturn(Collections.singletonList(mockResponse));
+        when(orderRepository.findSummariesByOrderDateAndTotalAmount(date, amount))
+                .thenReturn(List.of(createTestSummary(TEST_ORDER_ID), createTestSummary(TEST_ORDER_ID + 1)));
+        when(orderRepository.findItemRowsByOrderIdInAndBetweenDates(List.of(TEST_ORDER_ID, TEST_ORDER_ID + 1), date, date))
+                .thenReturn(List.of(createTestItemRow(TEST_ORDER_ID + 1, "Mouse"), createTestItemRow(TEST_ORDER_ID, "Laptop"),
+                        createTestItemRow(TEST_ORDER_ID + 1, "Keyboard")));
 
         List<OrderResponseDto> result = orderService.getOrdersByDateAndAmount(date, amount);
 
-        assertFalse(result.isEmpty());
-        assertEquals(1, result.size());
+        assertEquals(2, result.size());
+        assertEquals(List.of("Laptop"), productNames(result.get(0)));
+        assertEquals(List.of("Mouse", "Keyboard"), productNames(result.get(1)));
+        verifyNoInteractions(orderMapper);
     }
 
     @Test
@@ -131,17 +197,71 @@ class OrderServiceImplTest {
         String productName = "TestProduct";
         LocalDate startDate = LocalDate.now().minusDays(7);
         LocalDate endDate = LocalDate.now();
-        Order mockOrder = createTestOrder();
-        OrderResponseDto mockResponse = createTestResponse();
 
-        when(orderRepository.findOrdersWithoutProductAndBetweenDates(productName, startDate, endDate))
-                .thenReturn(Collections.singletonList(mockOrder));
-        when(orderMapper.toResponseDtoList(anyList())).thenReturn(Collections.singletonList(mockResponse));
+        when(orderRepository.findSummariesWithoutProductAndBetweenDates(productName, startDate, endDate))
+                .thenReturn(List.of(createTestSummary(TEST_ORDER_ID)));
+        when(orderRepository.findItemRowsByOrderIdInAndBetweenDates(List.of(TEST_ORDER_ID), startDate, endDate))
+                .thenReturn(List.of(createTestItemRow(TEST_ORDER_ID, "Laptop")));
 
         List<OrderResponseDto> result = orderService.getOrdersWithoutProductAndBetweenDates(productName, startDate, endDate);
 
-        assertFalse(result.isEmpty());
         assertEquals(1, result.size());
+        assertEquals(List.of("Laptop"), productNames(result.get(0)));
+    }
+
+    @Test
+    void withItemsSkipsItemsOfOrdersNotListed() {
+        List<OrderResponseDto> result = OrderServiceImpl.withItems(List.of(createTestSummary(TEST_ORDER_ID)),
+                List.of(createTestItemRow(TEST_ORDER_ID + 1, "Mouse"), createTestItemRow(TEST_ORDER_ID, "Laptop")));
+
+        assertEquals(1, result.size());
+        assertEquals(List.of("Laptop"), productNames(result.get(0)));
+    }
+
+    @Test
+    void getOrdersWithoutProductAndBetweenDatesProjectsOrdersFoundByIndex() {
+        String productName = "TestProduct";
+        LocalDate startDate = LocalDate.now().minusDays(7);
+        LocalDate endDate = LocalDate.now();
+
+        when(orderProductIndex.isReady()).thenReturn(true);
+        when(orderProductIndex.findOrderIdsWithoutProduct(productName, startDate, endDate))
+                .thenReturn(new long[]{TEST_ORDER_ID});
+        when(orderRepository.findSummariesByIdInAndBetweenDates(List.of(TEST_ORDER_ID), startDate, endDate))
+                .thenReturn(List.of(createTestSummary(TEST_ORDER_ID)));
+        when(orderRepository.findItemRowsByOrderIdInAndBetweenDates(List.of(TEST_ORDER_ID), startDate, endDate))
+                .thenReturn(List.of(createTestItemRow(TEST_ORDER_ID, "Laptop")));
+
+        List<OrderResponseDto> result = orderService.getOrdersWithoutProductAndBetweenDates(productName, startDate, endDate);
+
+        assertEquals(1, result.size());
+        assertEquals(List.of("Laptop"), productNames(result.get(0)));
+    }
+
+    @Test
+    void getOrderPageByDateAndAmountReturnsCursorOfLastOrderWhenMoreExist() {
+        LocalDate date = LocalDate.of(2024, 12, 12);
+        BigDecimal amount = BigDecimal.valueOf(100);
+        Order first = createTestOrder();
+        first.setOrderDate(date);
+        Order second = createTestOrder();
+        second.setId(TEST_ORDER_ID + 1);
+        second.setOrderDate(date);
+
+        when(orderRepository.findPageByOrderDateAndTotalAmount(date, amount, date, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        when(orderMapper.toResponseDtoList(List.of(first))).thenReturn(List.of(createTestResponse()));
+
+        OrderPageDto page = orderService.getOrderPageByDateAndAmount(date, amount, null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(OrderCursor.after(first), OrderCursor.decode(page.getNextCursor(), date));
+    }
+
+    @Test
+    void getOrderPageByDateAndAmountRejectsMalformedCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> orderService.getOrderPageByDateAndAmount(LocalDate.now(), BigDecimal.ZERO, "not-a-cursor", 10));
     }
 
     private OrderRequestDto createTestRequest() {
@@ -158,6 +278,18 @@ class OrderServiceImplTest {
         return order;
     }
 
+    private OrderResponseDto createTestSummary(Long id) {
+        return new OrderResponseDto(id, TEST_ORDER_NUMBER, BigDecimal.valueOf(100), LocalDate.now(), null, null, null, null);
+    }
+
+    private OrderItemRow createTestItemRow(Long orderId, String productName) {
+        return new OrderItemRow(orderId, 1L, productName, 1, BigDecimal.valueOf(50));
+    }
+
+    private List<String> productNames(OrderResponseDto order) {
+        return order.getItems().stream().map(OrderDetailsDto::getProductName).toList();
+    }
+
     private OrderResponseDto createTestResponse() {
         OrderResponseDto response = new OrderResponseDto();
         response.setId(TEST_ORDER_ID);
@@ -0,0 +1,160 @@
+package org.example.ordersservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.ordersservice.config.OrdersProperties;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.model.entity.OutboxEvent;
+import org.example.ordersservice.repository.OutboxEventRepository;
+import org.example.ordersservice.service.OrderNumberService;
+import org.example.ordersservice.service.OrderService;
+import org.example.ordersservice.service.OutboxEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxPublisherTest {
+    private static final int ORDERS = 40;
+    private static final int EVENTS_PER_ORDER = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<OutboxEventSink> sinks;
+
+    @MockitoSpyBean
+    private InMemoryOutboxEventSink sink;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @BeforeEach
+    void setUp() {
+        when(orderNumberService.nextOrderNumber()).thenAnswer(invocation -> UUID.randomUUID().toString());
+        outboxPublisher.publishPending();
+    }
+
+    @Test
+    void createdOrdersArePublishedOnce() throws IOException {
+        int deliveredBefore = sink.getEvents().size();
+        OrderResponseDto single = orderService.createOrder(createRequest());
+        List<OrderResponseDto> batch = orderService.createOrders(List.of(createRequest(), createRequest())).getCreated();
+
+        assertEquals(3, outboxPublisher.publishPending());
+        assertEquals(0, outboxPublisher.publishPending());
+
+        List<OutboxEvent> delivered = sink.getEvents().subList(deliveredBefore, sink.getEvents().size());
+        List<Long> expectedIds = Stream.concat(Stream.of(single), batch.stream()).map(OrderResponseDto::getId).sorted()
+                .toList();
+        assertEquals(expectedIds, delivered.stream().map(OutboxEvent::getAggregateId).sorted().toList());
+        OutboxEvent singleEvent = delivered.stream()
+                .filter(event -> event.getAggregateId().equals(single.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(OutboxEvent.ORDER_CREATED, singleEvent.getEventType());
+        assertEquals(single, objectMapper.readValue(singleEvent.getPayload(), OrderResponseDto.class));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void concurrentPublishersDeliverEventsOfAnOrderInOrder() {
+        int deliveredBefore = sink.getEvents().size();
+        Instant createdAt = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int sequence = EVENTS_PER_ORDER - 1; sequence >= 0; sequence--) {
+            for (long order = 1; order <= ORDERS; order++) {
+                events.add(new OutboxEvent(null, OutboxEvent.ORDER_CREATED, 1_000_000 + order,
+                        String.valueOf(sequence), createdAt.plusMillis(sequence)));
+            }
+        }
+        // written newest first, so identifiers run against creation order
+        outboxEventRepository.saveAll(events);
+        doAnswer(invocation -> {
+            Thread.sleep(1);
+            return invocation.callRealMethod();
+        }).when(sink).publish(anyList());
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> createPublisher().publishPending());
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> createPublisher().publishPending());
+
+        assertEquals(ORDERS * EVENTS_PER_ORDER, first.join() + second.join());
+        List<OutboxEvent> delivered = sink.getEvents().subList(deliveredBefore, sink.getEvents().size());
+        Map<Long, List<String>> sequencesByOrder = delivered.stream().collect(Collectors.groupingBy(
+                OutboxEvent::getAggregateId, Collectors.mapping(OutboxEvent::getPayload, Collectors.toList())));
+        List<String> expected = IntStream.range(0, EVENTS_PER_ORDER).mapToObj(String::valueOf).toList();
+        assertEquals(ORDERS, sequencesByOrder.size());
+        sequencesByOrder.forEach((order, sequences) -> assertEquals(expected, sequences, "order " + order));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void rejectedBatchStaysInOutboxAndIsDeliveredOnNextPoll() {
+        OrderResponseDto created = orderService.createOrder(createRequest());
+        doThrow(new IllegalStateException("sink unavailable")).doCallRealMethod().when(sink).publish(anyList());
+
+        assertThrows(IllegalStateException.class, () -> outboxPublisher.publishPending());
+        assertEquals(1, outboxEventRepository.count());
+
+        assertEquals(1, outboxPublisher.publishPending());
+        List<OutboxEvent> events = sink.getEvents();
+        assertEquals(created.getId(), events.get(events.size() - 1).getAggregateId());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private OutboxPublisher createPublisher() {
+        OrdersProperties ordersProperties = new OrdersProperties();
+        ordersProperties.getOutbox().setBatchSize(2);
+        return new OutboxPublisher(outboxEventRepository, sinks, ordersProperties, transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    private OrderRequestDto createRequest() {
+        OrderRequestDto request = new OrderRequestDto();
+        request.setItems(List.of(new OrderDetailsDto(1L, "Laptop", 2, new BigDecimal("499.99"))));
+        request.setRecipient("John Doe");
+        request.setDeliveryAddress("123 Main St");
+        return request;
+    }
+}
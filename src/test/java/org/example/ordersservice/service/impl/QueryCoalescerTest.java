@@ -0,0 +1,134 @@
+package org.example.ordersservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.ordersservice.config.OrdersProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class QueryCoalescerTest {
+    private static final int CONCURRENT_CALLS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLS);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneExecution() throws Exception {
+        QueryCoalescer coalescer = createCoalescer(Duration.ZERO);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch submitted = new CountDownLatch(CONCURRENT_CALLS);
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CALLS; i++) {
+            results.add(executor.submit(() -> {
+                submitted.countDown();
+                return coalescer.execute("test", List.of("same", 1), () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return List.of("a", "b");
+                });
+            }));
+        }
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        // give all callers time to find the running execution
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<List<String>> result : results) {
+            assertEquals(List.of("a", "b"), result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(CONCURRENT_CALLS - 1, coalesced("in-flight"));
+    }
+
+    @Test
+    void callsWithDifferentKeysOrAfterCompletionRunSeparately() {
+        QueryCoalescer coalescer = createCoalescer(Duration.ZERO);
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.execute("test", List.of("a"), () -> List.of(executions.incrementAndGet()));
+        coalescer.execute("test", List.of("b"), () -> List.of(executions.incrementAndGet()));
+        coalescer.execute("test", List.of("a"), () -> List.of(executions.incrementAndGet()));
+
+        assertEquals(3, executions.get());
+        assertEquals(0, coalesced("in-flight"));
+    }
+
+    @Test
+    void failureIsPassedToWaitersAndNotRemembered() throws Exception {
+        QueryCoalescer coalescer = createCoalescer(Duration.ZERO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<List<String>> first = executor.submit(() -> coalescer.execute("test", "key", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<String>> waiter = executor.submit(() -> coalescer.execute("test", "key", () -> List.of("unused")));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertInstanceOf(IllegalStateException.class,
+                assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertInstanceOf(IllegalStateException.class,
+                assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(List.of("retried"), coalescer.execute("test", "key", () -> List.of("retried")));
+    }
+
+    @Test
+    void microCacheServesCallsShortlyAfterCompletion() {
+        QueryCoalescer coalescer = createCoalescer(Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+
+        List<Integer> first = coalescer.execute("test", "key", () -> List.of(executions.incrementAndGet()));
+        List<Integer> second = coalescer.execute("test", "key", () -> List.of(executions.incrementAndGet()));
+
+        assertEquals(first, second);
+        assertEquals(1, executions.get());
+        assertEquals(1, coalesced("micro-cache"));
+        assertThrows(UnsupportedOperationException.class, () -> second.add(3));
+    }
+
+    private QueryCoalescer createCoalescer(Duration microCacheTtl) {
+        OrdersProperties properties = new OrdersProperties();
+        properties.getCoalescing().setMicroCacheTtl(microCacheTtl);
+        return new QueryCoalescer(properties, mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    private double coalesced(String source) {
+        Counter counter = meterRegistry.find("orders.query.coalesced").tag("source", source).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
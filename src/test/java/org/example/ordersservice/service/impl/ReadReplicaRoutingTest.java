@@ -0,0 +1,88 @@
+package org.example.ordersservice.service.impl;
+
+import org.example.ordersservice.config.CachingConfig;
+import org.example.ordersservice.model.dto.OrderDetailsDto;
+import org.example.ordersservice.model.dto.OrderPageDto;
+import org.example.ordersservice.model.dto.OrderRequestDto;
+import org.example.ordersservice.model.dto.OrderResponseDto;
+import org.example.ordersservice.service.OrderNumberService;
+import org.example.ordersservice.service.OrderService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the service against two in-memory databases, the shared test database as primary and a second one as
+ * replica. The replica receives no replication, so what a read returns shows which database served it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+    private static final String REPLICA_URL =
+            "jdbc:h2:mem:orders_replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final BigDecimal LARGE_AMOUNT = new BigDecimal("987654.32");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private OrderNumberService orderNumberService;
+
+    @DynamicPropertySource
+    static void readReplica(DynamicPropertyRegistry registry) {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+        registry.add("orders.read-replicas.enabled", () -> "true");
+        registry.add("orders.read-replicas.urls", () -> REPLICA_URL);
+    }
+
+    @Test
+    void createdOrderIsReadBackFromPrimaryButNotListedFromReplica() {
+        when(orderNumberService.nextOrderNumber()).thenReturn("7777720241212");
+        OrderRequestDto request = new OrderRequestDto();
+        request.setItems(List.of(new OrderDetailsDto(1L, "Laptop", 1, LARGE_AMOUNT)));
+
+        OrderResponseDto created = orderService.createOrder(request);
+        cacheManager.getCache(CachingConfig.ORDERS_CACHE).evict(created.getId());
+        OrderResponseDto read = orderService.getOrderById(created.getId());
+        OrderPageDto listed = orderService.getOrderPageByDateAndAmount(LocalDate.now(), LARGE_AMOUNT, null, 10);
+
+        assertEquals(created.getOrderNumber(), read.getOrderNumber());
+        assertTrue(listed.getItems().isEmpty(), listed::toString);
+    }
+
+    @Test
+    void readOnlyQueriesAreServedByReplica() {
+        LocalDate date = LocalDate.of(2031, 1, 15);
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.update("INSERT INTO orders (id, order_number, total_amount, order_date) VALUES (?, ?, ?, ?)",
+                1_000_001L, "8888820310115", LARGE_AMOUNT, date);
+
+        OrderPageDto listed = orderService.getOrderPageByDateAndAmount(date, LARGE_AMOUNT, null, 10);
+
+        assertEquals(1, listed.getItems().size(), listed::toString);
+        assertEquals("8888820310115", listed.getItems().get(0).getOrderNumber());
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.ordersservice.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the number-generate-service that issues sequential numbers and can inject faults.
+ */
+public class NumberGenerateServiceStub implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile Duration delay = Duration.ZERO;
+
+    private NumberGenerateServiceStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/numbers", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static NumberGenerateServiceStub start() {
+        try {
+            return new NumberGenerateServiceStub();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start number-generate-service stub", e);
+        }
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/numbers";
+    }
+
+    /**
+     * Makes every following request answer with the given HTTP status.
+     */
+    public void respondWith(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Makes the next {@code count} requests fail with status 503, then recovers.
+     */
+    public void failNext(int count) {
+        failuresLeft.set(count);
+    }
+
+    /**
+     * Delays every following response by the given duration.
+     */
+    public void delay(Duration delay) {
+        this.delay = delay;
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            if (!delay.isZero()) {
+                Thread.sleep(delay.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int responseStatus = failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0 ? 503 : status;
+        byte[] body = responseStatus == 200
+                ? String.valueOf(sequence.incrementAndGet()).getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+        exchange.sendResponseHeaders(responseStatus, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
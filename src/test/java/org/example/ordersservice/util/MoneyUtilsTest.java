@@ -0,0 +1,70 @@
+package org.example.ordersservice.util;
+
+import org.example.ordersservice.model.entity.OrderDetails;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MoneyUtilsTest {
+
+    @Test
+    void normalizeRoundsHalfEvenToCurrencyScale() {
+        assertEquals(new BigDecimal("0.12"), MoneyUtils.normalize(new BigDecimal("0.125")));
+        assertEquals(new BigDecimal("0.14"), MoneyUtils.normalize(new BigDecimal("0.135")));
+        assertEquals(new BigDecimal("100.00"), MoneyUtils.normalize(BigDecimal.valueOf(100)));
+        assertNull(MoneyUtils.normalize(null));
+    }
+
+    @Test
+    void totalSumsPriceTimesQuantityAtCurrencyScale() {
+        List<OrderDetails> items = List.of(item("19.99", 3), item("0.125", 4), item("100", 1));
+
+        assertEquals(new BigDecimal("160.45"), total(items));
+    }
+
+    @Test
+    void totalMatchesBigDecimalArithmeticAcrossMagnitudesAndScales() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal price = BigDecimal.valueOf(random.nextLong() >> (14 + random.nextInt(50)), random.nextInt(3));
+            int quantity = 1 + random.nextInt(5);
+
+            BigDecimal expected = price.multiply(BigDecimal.valueOf(quantity)).setScale(2);
+            assertEquals(expected, total(List.of(item(price.toPlainString(), quantity))), price::toPlainString);
+        }
+    }
+
+    @Test
+    void totalOfNoItemsIsZeroAtCurrencyScale() {
+        assertEquals(new BigDecimal("0.00"), total(List.of()));
+    }
+
+    @Test
+    void totalFallsBackToBigDecimalWhenLongWouldOverflow() {
+        BigDecimal price = BigDecimal.valueOf(Long.MAX_VALUE / 100, 0);
+        List<OrderDetails> items = List.of(item(price.toPlainString(), 3), item("0.01", 1));
+
+        BigDecimal expected = price.multiply(BigDecimal.valueOf(3)).add(new BigDecimal("0.01")).setScale(2);
+        assertEquals(expected, total(items));
+    }
+
+    @Test
+    void totalFallsBackToBigDecimalForPricesBeyondLongRange() {
+        List<OrderDetails> items = List.of(item("1" + "0".repeat(30), 2));
+
+        assertEquals(new BigDecimal("2" + "0".repeat(30) + ".00"), total(items));
+    }
+
+    private BigDecimal total(List<OrderDetails> items) {
+        return MoneyUtils.total(items, OrderDetails::getUnitPrice, OrderDetails::getQuantity);
+    }
+
+    private OrderDetails item(String unitPrice, int quantity) {
+        return new OrderDetails(null, 1L, "Product", quantity, new BigDecimal(unitPrice), null, null);
+    }
+}